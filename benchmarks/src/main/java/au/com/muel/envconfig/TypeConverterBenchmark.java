@@ -0,0 +1,79 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DefaultTypeConverter#convert(Type, String)} for scalar, {@code List}, {@code Map} and array
+ * targets. This lives in the library's package so that the package-private converter can be used
+ * directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TypeConverterBenchmark {
+
+    private static final Type LIST_TYPE = ConfigResolver.parameterizedType(List.class, Integer.class);
+    private static final Type MAP_TYPE = ConfigResolver.parameterizedType(Map.class, String.class, Integer.class);
+
+    @Param({"10", "1000"})
+    private int elements;
+
+    private TypeConverter converter;
+    private String listValue;
+    private String mapValue;
+
+    @Setup
+    public void setUp() {
+
+        converter = new DefaultTypeConverter(DefaultParserRegistry.sharedDefaults());
+        listValue = IntStream.range(0, elements).mapToObj(Integer::toString).collect(Collectors.joining(","));
+        mapValue = IntStream.range(0, elements).mapToObj(i -> "key" + i + ":" + i).collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public Object intScalar() {
+        return converter.convert(int.class, "8080");
+    }
+
+    @Benchmark
+    public Object durationScalar() {
+        return converter.convert(Duration.class, "PT30S");
+    }
+
+    @Benchmark
+    public Object list() {
+        return converter.convert(LIST_TYPE, listValue);
+    }
+
+    @Benchmark
+    public Object map() {
+        return converter.convert(MAP_TYPE, mapValue);
+    }
+
+    @Benchmark
+    public Object array() {
+        return converter.convert(int[].class, listValue);
+    }
+
+}
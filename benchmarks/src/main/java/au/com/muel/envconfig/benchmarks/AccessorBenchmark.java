@@ -0,0 +1,83 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.muel.envconfig.EnvConfig;
+
+/**
+ * Steady state accessor calls on a shared config, both single threaded and contended.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AccessorBenchmark {
+
+    @Param({"proxy", "generated"})
+    private String implementation;
+
+    private Config100 config;
+
+    @Setup
+    public void setUp() {
+
+        EnvConfig.clearAll();
+        config = "generated".equals(implementation)
+                ? EnvConfig.generated().fromConfigSource(Config100.class, ConfigSources.forConfigType(Config100.class))
+                : EnvConfig.fromConfigSource(Config100.class, ConfigSources.forConfigType(Config100.class));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String stringAccessor() {
+        return config.value0000();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int intAccessor() {
+        return config.value0001();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Duration durationAccessor() {
+        return config.value0002();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Integer> listAccessor() {
+        return config.value0003();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String stringAccessorContended() {
+        return config.value0000();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int intAccessorContended() {
+        return config.value0001();
+    }
+
+}
@@ -0,0 +1,92 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.muel.envconfig.EnvConfig;
+
+/**
+ * Cold creation of a config per namespace, individually and in bulk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BulkCreationBenchmark {
+
+    @Param({"1000"})
+    private int namespaces;
+
+    private List<String> namespaceList;
+    private Map<String, String> configSource;
+
+    @Setup
+    public void setUp() {
+
+        final Map<String, String> unprefixed = ConfigSources.forConfigType(Config10.class);
+
+        namespaceList = new ArrayList<>();
+        configSource = new HashMap<>();
+        for (int i=0; i<namespaces; i++) {
+
+            final String namespace = "TENANT" + i;
+            namespaceList.add(namespace);
+            unprefixed.forEach((key, value) -> configSource.put(namespace + "_" + key, value));
+        }
+    }
+
+    @Benchmark
+    public Object individually() {
+
+        EnvConfig.clearAll();
+        final List<Config10> configs = new ArrayList<>(namespaces);
+        for (String namespace : namespaceList) {
+            configs.add(EnvConfig.fromConfigSource(namespace, Config10.class, configSource));
+        }
+        return configs;
+    }
+
+    @Benchmark
+    public Object individuallyGenerated() {
+
+        EnvConfig.clearAll();
+        final List<Config10> configs = new ArrayList<>(namespaces);
+        for (String namespace : namespaceList) {
+            configs.add(EnvConfig.generated().fromConfigSource(namespace, Config10.class, configSource));
+        }
+        return configs;
+    }
+
+    @Benchmark
+    public Object bulk() {
+
+        EnvConfig.clearAll();
+        return EnvConfig.fromConfigSource(namespaceList, Config10.class, configSource);
+    }
+
+    @Benchmark
+    public Object bulkParallel() {
+
+        EnvConfig.clearAll();
+        return EnvConfig.parallel(ForkJoinPool.commonPool()).fromConfigSource(namespaceList, Config10.class, configSource);
+    }
+
+}
@@ -0,0 +1,22 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A config interface with 10 methods, cycling through a mix of scalar and generic types.
+ */
+public interface Config10 {
+
+    String value0000();
+    int value0001();
+    Duration value0002();
+    List<Integer> value0003();
+    String value0004();
+    int value0005();
+    Duration value0006();
+    List<Integer> value0007();
+    String value0008();
+    int value0009();
+
+}
@@ -0,0 +1,112 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A config interface with 100 methods, cycling through a mix of scalar and generic types.
+ */
+public interface Config100 {
+
+    String value0000();
+    int value0001();
+    Duration value0002();
+    List<Integer> value0003();
+    String value0004();
+    int value0005();
+    Duration value0006();
+    List<Integer> value0007();
+    String value0008();
+    int value0009();
+    Duration value0010();
+    List<Integer> value0011();
+    String value0012();
+    int value0013();
+    Duration value0014();
+    List<Integer> value0015();
+    String value0016();
+    int value0017();
+    Duration value0018();
+    List<Integer> value0019();
+    String value0020();
+    int value0021();
+    Duration value0022();
+    List<Integer> value0023();
+    String value0024();
+    int value0025();
+    Duration value0026();
+    List<Integer> value0027();
+    String value0028();
+    int value0029();
+    Duration value0030();
+    List<Integer> value0031();
+    String value0032();
+    int value0033();
+    Duration value0034();
+    List<Integer> value0035();
+    String value0036();
+    int value0037();
+    Duration value0038();
+    List<Integer> value0039();
+    String value0040();
+    int value0041();
+    Duration value0042();
+    List<Integer> value0043();
+    String value0044();
+    int value0045();
+    Duration value0046();
+    List<Integer> value0047();
+    String value0048();
+    int value0049();
+    Duration value0050();
+    List<Integer> value0051();
+    String value0052();
+    int value0053();
+    Duration value0054();
+    List<Integer> value0055();
+    String value0056();
+    int value0057();
+    Duration value0058();
+    List<Integer> value0059();
+    String value0060();
+    int value0061();
+    Duration value0062();
+    List<Integer> value0063();
+    String value0064();
+    int value0065();
+    Duration value0066();
+    List<Integer> value0067();
+    String value0068();
+    int value0069();
+    Duration value0070();
+    List<Integer> value0071();
+    String value0072();
+    int value0073();
+    Duration value0074();
+    List<Integer> value0075();
+    String value0076();
+    int value0077();
+    Duration value0078();
+    List<Integer> value0079();
+    String value0080();
+    int value0081();
+    Duration value0082();
+    List<Integer> value0083();
+    String value0084();
+    int value0085();
+    Duration value0086();
+    List<Integer> value0087();
+    String value0088();
+    int value0089();
+    Duration value0090();
+    List<Integer> value0091();
+    String value0092();
+    int value0093();
+    Duration value0094();
+    List<Integer> value0095();
+    String value0096();
+    int value0097();
+    Duration value0098();
+    List<Integer> value0099();
+
+}
@@ -0,0 +1,1012 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A config interface with 1000 methods, cycling through a mix of scalar and generic types.
+ */
+public interface Config1000 {
+
+    String value0000();
+    int value0001();
+    Duration value0002();
+    List<Integer> value0003();
+    String value0004();
+    int value0005();
+    Duration value0006();
+    List<Integer> value0007();
+    String value0008();
+    int value0009();
+    Duration value0010();
+    List<Integer> value0011();
+    String value0012();
+    int value0013();
+    Duration value0014();
+    List<Integer> value0015();
+    String value0016();
+    int value0017();
+    Duration value0018();
+    List<Integer> value0019();
+    String value0020();
+    int value0021();
+    Duration value0022();
+    List<Integer> value0023();
+    String value0024();
+    int value0025();
+    Duration value0026();
+    List<Integer> value0027();
+    String value0028();
+    int value0029();
+    Duration value0030();
+    List<Integer> value0031();
+    String value0032();
+    int value0033();
+    Duration value0034();
+    List<Integer> value0035();
+    String value0036();
+    int value0037();
+    Duration value0038();
+    List<Integer> value0039();
+    String value0040();
+    int value0041();
+    Duration value0042();
+    List<Integer> value0043();
+    String value0044();
+    int value0045();
+    Duration value0046();
+    List<Integer> value0047();
+    String value0048();
+    int value0049();
+    Duration value0050();
+    List<Integer> value0051();
+    String value0052();
+    int value0053();
+    Duration value0054();
+    List<Integer> value0055();
+    String value0056();
+    int value0057();
+    Duration value0058();
+    List<Integer> value0059();
+    String value0060();
+    int value0061();
+    Duration value0062();
+    List<Integer> value0063();
+    String value0064();
+    int value0065();
+    Duration value0066();
+    List<Integer> value0067();
+    String value0068();
+    int value0069();
+    Duration value0070();
+    List<Integer> value0071();
+    String value0072();
+    int value0073();
+    Duration value0074();
+    List<Integer> value0075();
+    String value0076();
+    int value0077();
+    Duration value0078();
+    List<Integer> value0079();
+    String value0080();
+    int value0081();
+    Duration value0082();
+    List<Integer> value0083();
+    String value0084();
+    int value0085();
+    Duration value0086();
+    List<Integer> value0087();
+    String value0088();
+    int value0089();
+    Duration value0090();
+    List<Integer> value0091();
+    String value0092();
+    int value0093();
+    Duration value0094();
+    List<Integer> value0095();
+    String value0096();
+    int value0097();
+    Duration value0098();
+    List<Integer> value0099();
+    String value0100();
+    int value0101();
+    Duration value0102();
+    List<Integer> value0103();
+    String value0104();
+    int value0105();
+    Duration value0106();
+    List<Integer> value0107();
+    String value0108();
+    int value0109();
+    Duration value0110();
+    List<Integer> value0111();
+    String value0112();
+    int value0113();
+    Duration value0114();
+    List<Integer> value0115();
+    String value0116();
+    int value0117();
+    Duration value0118();
+    List<Integer> value0119();
+    String value0120();
+    int value0121();
+    Duration value0122();
+    List<Integer> value0123();
+    String value0124();
+    int value0125();
+    Duration value0126();
+    List<Integer> value0127();
+    String value0128();
+    int value0129();
+    Duration value0130();
+    List<Integer> value0131();
+    String value0132();
+    int value0133();
+    Duration value0134();
+    List<Integer> value0135();
+    String value0136();
+    int value0137();
+    Duration value0138();
+    List<Integer> value0139();
+    String value0140();
+    int value0141();
+    Duration value0142();
+    List<Integer> value0143();
+    String value0144();
+    int value0145();
+    Duration value0146();
+    List<Integer> value0147();
+    String value0148();
+    int value0149();
+    Duration value0150();
+    List<Integer> value0151();
+    String value0152();
+    int value0153();
+    Duration value0154();
+    List<Integer> value0155();
+    String value0156();
+    int value0157();
+    Duration value0158();
+    List<Integer> value0159();
+    String value0160();
+    int value0161();
+    Duration value0162();
+    List<Integer> value0163();
+    String value0164();
+    int value0165();
+    Duration value0166();
+    List<Integer> value0167();
+    String value0168();
+    int value0169();
+    Duration value0170();
+    List<Integer> value0171();
+    String value0172();
+    int value0173();
+    Duration value0174();
+    List<Integer> value0175();
+    String value0176();
+    int value0177();
+    Duration value0178();
+    List<Integer> value0179();
+    String value0180();
+    int value0181();
+    Duration value0182();
+    List<Integer> value0183();
+    String value0184();
+    int value0185();
+    Duration value0186();
+    List<Integer> value0187();
+    String value0188();
+    int value0189();
+    Duration value0190();
+    List<Integer> value0191();
+    String value0192();
+    int value0193();
+    Duration value0194();
+    List<Integer> value0195();
+    String value0196();
+    int value0197();
+    Duration value0198();
+    List<Integer> value0199();
+    String value0200();
+    int value0201();
+    Duration value0202();
+    List<Integer> value0203();
+    String value0204();
+    int value0205();
+    Duration value0206();
+    List<Integer> value0207();
+    String value0208();
+    int value0209();
+    Duration value0210();
+    List<Integer> value0211();
+    String value0212();
+    int value0213();
+    Duration value0214();
+    List<Integer> value0215();
+    String value0216();
+    int value0217();
+    Duration value0218();
+    List<Integer> value0219();
+    String value0220();
+    int value0221();
+    Duration value0222();
+    List<Integer> value0223();
+    String value0224();
+    int value0225();
+    Duration value0226();
+    List<Integer> value0227();
+    String value0228();
+    int value0229();
+    Duration value0230();
+    List<Integer> value0231();
+    String value0232();
+    int value0233();
+    Duration value0234();
+    List<Integer> value0235();
+    String value0236();
+    int value0237();
+    Duration value0238();
+    List<Integer> value0239();
+    String value0240();
+    int value0241();
+    Duration value0242();
+    List<Integer> value0243();
+    String value0244();
+    int value0245();
+    Duration value0246();
+    List<Integer> value0247();
+    String value0248();
+    int value0249();
+    Duration value0250();
+    List<Integer> value0251();
+    String value0252();
+    int value0253();
+    Duration value0254();
+    List<Integer> value0255();
+    String value0256();
+    int value0257();
+    Duration value0258();
+    List<Integer> value0259();
+    String value0260();
+    int value0261();
+    Duration value0262();
+    List<Integer> value0263();
+    String value0264();
+    int value0265();
+    Duration value0266();
+    List<Integer> value0267();
+    String value0268();
+    int value0269();
+    Duration value0270();
+    List<Integer> value0271();
+    String value0272();
+    int value0273();
+    Duration value0274();
+    List<Integer> value0275();
+    String value0276();
+    int value0277();
+    Duration value0278();
+    List<Integer> value0279();
+    String value0280();
+    int value0281();
+    Duration value0282();
+    List<Integer> value0283();
+    String value0284();
+    int value0285();
+    Duration value0286();
+    List<Integer> value0287();
+    String value0288();
+    int value0289();
+    Duration value0290();
+    List<Integer> value0291();
+    String value0292();
+    int value0293();
+    Duration value0294();
+    List<Integer> value0295();
+    String value0296();
+    int value0297();
+    Duration value0298();
+    List<Integer> value0299();
+    String value0300();
+    int value0301();
+    Duration value0302();
+    List<Integer> value0303();
+    String value0304();
+    int value0305();
+    Duration value0306();
+    List<Integer> value0307();
+    String value0308();
+    int value0309();
+    Duration value0310();
+    List<Integer> value0311();
+    String value0312();
+    int value0313();
+    Duration value0314();
+    List<Integer> value0315();
+    String value0316();
+    int value0317();
+    Duration value0318();
+    List<Integer> value0319();
+    String value0320();
+    int value0321();
+    Duration value0322();
+    List<Integer> value0323();
+    String value0324();
+    int value0325();
+    Duration value0326();
+    List<Integer> value0327();
+    String value0328();
+    int value0329();
+    Duration value0330();
+    List<Integer> value0331();
+    String value0332();
+    int value0333();
+    Duration value0334();
+    List<Integer> value0335();
+    String value0336();
+    int value0337();
+    Duration value0338();
+    List<Integer> value0339();
+    String value0340();
+    int value0341();
+    Duration value0342();
+    List<Integer> value0343();
+    String value0344();
+    int value0345();
+    Duration value0346();
+    List<Integer> value0347();
+    String value0348();
+    int value0349();
+    Duration value0350();
+    List<Integer> value0351();
+    String value0352();
+    int value0353();
+    Duration value0354();
+    List<Integer> value0355();
+    String value0356();
+    int value0357();
+    Duration value0358();
+    List<Integer> value0359();
+    String value0360();
+    int value0361();
+    Duration value0362();
+    List<Integer> value0363();
+    String value0364();
+    int value0365();
+    Duration value0366();
+    List<Integer> value0367();
+    String value0368();
+    int value0369();
+    Duration value0370();
+    List<Integer> value0371();
+    String value0372();
+    int value0373();
+    Duration value0374();
+    List<Integer> value0375();
+    String value0376();
+    int value0377();
+    Duration value0378();
+    List<Integer> value0379();
+    String value0380();
+    int value0381();
+    Duration value0382();
+    List<Integer> value0383();
+    String value0384();
+    int value0385();
+    Duration value0386();
+    List<Integer> value0387();
+    String value0388();
+    int value0389();
+    Duration value0390();
+    List<Integer> value0391();
+    String value0392();
+    int value0393();
+    Duration value0394();
+    List<Integer> value0395();
+    String value0396();
+    int value0397();
+    Duration value0398();
+    List<Integer> value0399();
+    String value0400();
+    int value0401();
+    Duration value0402();
+    List<Integer> value0403();
+    String value0404();
+    int value0405();
+    Duration value0406();
+    List<Integer> value0407();
+    String value0408();
+    int value0409();
+    Duration value0410();
+    List<Integer> value0411();
+    String value0412();
+    int value0413();
+    Duration value0414();
+    List<Integer> value0415();
+    String value0416();
+    int value0417();
+    Duration value0418();
+    List<Integer> value0419();
+    String value0420();
+    int value0421();
+    Duration value0422();
+    List<Integer> value0423();
+    String value0424();
+    int value0425();
+    Duration value0426();
+    List<Integer> value0427();
+    String value0428();
+    int value0429();
+    Duration value0430();
+    List<Integer> value0431();
+    String value0432();
+    int value0433();
+    Duration value0434();
+    List<Integer> value0435();
+    String value0436();
+    int value0437();
+    Duration value0438();
+    List<Integer> value0439();
+    String value0440();
+    int value0441();
+    Duration value0442();
+    List<Integer> value0443();
+    String value0444();
+    int value0445();
+    Duration value0446();
+    List<Integer> value0447();
+    String value0448();
+    int value0449();
+    Duration value0450();
+    List<Integer> value0451();
+    String value0452();
+    int value0453();
+    Duration value0454();
+    List<Integer> value0455();
+    String value0456();
+    int value0457();
+    Duration value0458();
+    List<Integer> value0459();
+    String value0460();
+    int value0461();
+    Duration value0462();
+    List<Integer> value0463();
+    String value0464();
+    int value0465();
+    Duration value0466();
+    List<Integer> value0467();
+    String value0468();
+    int value0469();
+    Duration value0470();
+    List<Integer> value0471();
+    String value0472();
+    int value0473();
+    Duration value0474();
+    List<Integer> value0475();
+    String value0476();
+    int value0477();
+    Duration value0478();
+    List<Integer> value0479();
+    String value0480();
+    int value0481();
+    Duration value0482();
+    List<Integer> value0483();
+    String value0484();
+    int value0485();
+    Duration value0486();
+    List<Integer> value0487();
+    String value0488();
+    int value0489();
+    Duration value0490();
+    List<Integer> value0491();
+    String value0492();
+    int value0493();
+    Duration value0494();
+    List<Integer> value0495();
+    String value0496();
+    int value0497();
+    Duration value0498();
+    List<Integer> value0499();
+    String value0500();
+    int value0501();
+    Duration value0502();
+    List<Integer> value0503();
+    String value0504();
+    int value0505();
+    Duration value0506();
+    List<Integer> value0507();
+    String value0508();
+    int value0509();
+    Duration value0510();
+    List<Integer> value0511();
+    String value0512();
+    int value0513();
+    Duration value0514();
+    List<Integer> value0515();
+    String value0516();
+    int value0517();
+    Duration value0518();
+    List<Integer> value0519();
+    String value0520();
+    int value0521();
+    Duration value0522();
+    List<Integer> value0523();
+    String value0524();
+    int value0525();
+    Duration value0526();
+    List<Integer> value0527();
+    String value0528();
+    int value0529();
+    Duration value0530();
+    List<Integer> value0531();
+    String value0532();
+    int value0533();
+    Duration value0534();
+    List<Integer> value0535();
+    String value0536();
+    int value0537();
+    Duration value0538();
+    List<Integer> value0539();
+    String value0540();
+    int value0541();
+    Duration value0542();
+    List<Integer> value0543();
+    String value0544();
+    int value0545();
+    Duration value0546();
+    List<Integer> value0547();
+    String value0548();
+    int value0549();
+    Duration value0550();
+    List<Integer> value0551();
+    String value0552();
+    int value0553();
+    Duration value0554();
+    List<Integer> value0555();
+    String value0556();
+    int value0557();
+    Duration value0558();
+    List<Integer> value0559();
+    String value0560();
+    int value0561();
+    Duration value0562();
+    List<Integer> value0563();
+    String value0564();
+    int value0565();
+    Duration value0566();
+    List<Integer> value0567();
+    String value0568();
+    int value0569();
+    Duration value0570();
+    List<Integer> value0571();
+    String value0572();
+    int value0573();
+    Duration value0574();
+    List<Integer> value0575();
+    String value0576();
+    int value0577();
+    Duration value0578();
+    List<Integer> value0579();
+    String value0580();
+    int value0581();
+    Duration value0582();
+    List<Integer> value0583();
+    String value0584();
+    int value0585();
+    Duration value0586();
+    List<Integer> value0587();
+    String value0588();
+    int value0589();
+    Duration value0590();
+    List<Integer> value0591();
+    String value0592();
+    int value0593();
+    Duration value0594();
+    List<Integer> value0595();
+    String value0596();
+    int value0597();
+    Duration value0598();
+    List<Integer> value0599();
+    String value0600();
+    int value0601();
+    Duration value0602();
+    List<Integer> value0603();
+    String value0604();
+    int value0605();
+    Duration value0606();
+    List<Integer> value0607();
+    String value0608();
+    int value0609();
+    Duration value0610();
+    List<Integer> value0611();
+    String value0612();
+    int value0613();
+    Duration value0614();
+    List<Integer> value0615();
+    String value0616();
+    int value0617();
+    Duration value0618();
+    List<Integer> value0619();
+    String value0620();
+    int value0621();
+    Duration value0622();
+    List<Integer> value0623();
+    String value0624();
+    int value0625();
+    Duration value0626();
+    List<Integer> value0627();
+    String value0628();
+    int value0629();
+    Duration value0630();
+    List<Integer> value0631();
+    String value0632();
+    int value0633();
+    Duration value0634();
+    List<Integer> value0635();
+    String value0636();
+    int value0637();
+    Duration value0638();
+    List<Integer> value0639();
+    String value0640();
+    int value0641();
+    Duration value0642();
+    List<Integer> value0643();
+    String value0644();
+    int value0645();
+    Duration value0646();
+    List<Integer> value0647();
+    String value0648();
+    int value0649();
+    Duration value0650();
+    List<Integer> value0651();
+    String value0652();
+    int value0653();
+    Duration value0654();
+    List<Integer> value0655();
+    String value0656();
+    int value0657();
+    Duration value0658();
+    List<Integer> value0659();
+    String value0660();
+    int value0661();
+    Duration value0662();
+    List<Integer> value0663();
+    String value0664();
+    int value0665();
+    Duration value0666();
+    List<Integer> value0667();
+    String value0668();
+    int value0669();
+    Duration value0670();
+    List<Integer> value0671();
+    String value0672();
+    int value0673();
+    Duration value0674();
+    List<Integer> value0675();
+    String value0676();
+    int value0677();
+    Duration value0678();
+    List<Integer> value0679();
+    String value0680();
+    int value0681();
+    Duration value0682();
+    List<Integer> value0683();
+    String value0684();
+    int value0685();
+    Duration value0686();
+    List<Integer> value0687();
+    String value0688();
+    int value0689();
+    Duration value0690();
+    List<Integer> value0691();
+    String value0692();
+    int value0693();
+    Duration value0694();
+    List<Integer> value0695();
+    String value0696();
+    int value0697();
+    Duration value0698();
+    List<Integer> value0699();
+    String value0700();
+    int value0701();
+    Duration value0702();
+    List<Integer> value0703();
+    String value0704();
+    int value0705();
+    Duration value0706();
+    List<Integer> value0707();
+    String value0708();
+    int value0709();
+    Duration value0710();
+    List<Integer> value0711();
+    String value0712();
+    int value0713();
+    Duration value0714();
+    List<Integer> value0715();
+    String value0716();
+    int value0717();
+    Duration value0718();
+    List<Integer> value0719();
+    String value0720();
+    int value0721();
+    Duration value0722();
+    List<Integer> value0723();
+    String value0724();
+    int value0725();
+    Duration value0726();
+    List<Integer> value0727();
+    String value0728();
+    int value0729();
+    Duration value0730();
+    List<Integer> value0731();
+    String value0732();
+    int value0733();
+    Duration value0734();
+    List<Integer> value0735();
+    String value0736();
+    int value0737();
+    Duration value0738();
+    List<Integer> value0739();
+    String value0740();
+    int value0741();
+    Duration value0742();
+    List<Integer> value0743();
+    String value0744();
+    int value0745();
+    Duration value0746();
+    List<Integer> value0747();
+    String value0748();
+    int value0749();
+    Duration value0750();
+    List<Integer> value0751();
+    String value0752();
+    int value0753();
+    Duration value0754();
+    List<Integer> value0755();
+    String value0756();
+    int value0757();
+    Duration value0758();
+    List<Integer> value0759();
+    String value0760();
+    int value0761();
+    Duration value0762();
+    List<Integer> value0763();
+    String value0764();
+    int value0765();
+    Duration value0766();
+    List<Integer> value0767();
+    String value0768();
+    int value0769();
+    Duration value0770();
+    List<Integer> value0771();
+    String value0772();
+    int value0773();
+    Duration value0774();
+    List<Integer> value0775();
+    String value0776();
+    int value0777();
+    Duration value0778();
+    List<Integer> value0779();
+    String value0780();
+    int value0781();
+    Duration value0782();
+    List<Integer> value0783();
+    String value0784();
+    int value0785();
+    Duration value0786();
+    List<Integer> value0787();
+    String value0788();
+    int value0789();
+    Duration value0790();
+    List<Integer> value0791();
+    String value0792();
+    int value0793();
+    Duration value0794();
+    List<Integer> value0795();
+    String value0796();
+    int value0797();
+    Duration value0798();
+    List<Integer> value0799();
+    String value0800();
+    int value0801();
+    Duration value0802();
+    List<Integer> value0803();
+    String value0804();
+    int value0805();
+    Duration value0806();
+    List<Integer> value0807();
+    String value0808();
+    int value0809();
+    Duration value0810();
+    List<Integer> value0811();
+    String value0812();
+    int value0813();
+    Duration value0814();
+    List<Integer> value0815();
+    String value0816();
+    int value0817();
+    Duration value0818();
+    List<Integer> value0819();
+    String value0820();
+    int value0821();
+    Duration value0822();
+    List<Integer> value0823();
+    String value0824();
+    int value0825();
+    Duration value0826();
+    List<Integer> value0827();
+    String value0828();
+    int value0829();
+    Duration value0830();
+    List<Integer> value0831();
+    String value0832();
+    int value0833();
+    Duration value0834();
+    List<Integer> value0835();
+    String value0836();
+    int value0837();
+    Duration value0838();
+    List<Integer> value0839();
+    String value0840();
+    int value0841();
+    Duration value0842();
+    List<Integer> value0843();
+    String value0844();
+    int value0845();
+    Duration value0846();
+    List<Integer> value0847();
+    String value0848();
+    int value0849();
+    Duration value0850();
+    List<Integer> value0851();
+    String value0852();
+    int value0853();
+    Duration value0854();
+    List<Integer> value0855();
+    String value0856();
+    int value0857();
+    Duration value0858();
+    List<Integer> value0859();
+    String value0860();
+    int value0861();
+    Duration value0862();
+    List<Integer> value0863();
+    String value0864();
+    int value0865();
+    Duration value0866();
+    List<Integer> value0867();
+    String value0868();
+    int value0869();
+    Duration value0870();
+    List<Integer> value0871();
+    String value0872();
+    int value0873();
+    Duration value0874();
+    List<Integer> value0875();
+    String value0876();
+    int value0877();
+    Duration value0878();
+    List<Integer> value0879();
+    String value0880();
+    int value0881();
+    Duration value0882();
+    List<Integer> value0883();
+    String value0884();
+    int value0885();
+    Duration value0886();
+    List<Integer> value0887();
+    String value0888();
+    int value0889();
+    Duration value0890();
+    List<Integer> value0891();
+    String value0892();
+    int value0893();
+    Duration value0894();
+    List<Integer> value0895();
+    String value0896();
+    int value0897();
+    Duration value0898();
+    List<Integer> value0899();
+    String value0900();
+    int value0901();
+    Duration value0902();
+    List<Integer> value0903();
+    String value0904();
+    int value0905();
+    Duration value0906();
+    List<Integer> value0907();
+    String value0908();
+    int value0909();
+    Duration value0910();
+    List<Integer> value0911();
+    String value0912();
+    int value0913();
+    Duration value0914();
+    List<Integer> value0915();
+    String value0916();
+    int value0917();
+    Duration value0918();
+    List<Integer> value0919();
+    String value0920();
+    int value0921();
+    Duration value0922();
+    List<Integer> value0923();
+    String value0924();
+    int value0925();
+    Duration value0926();
+    List<Integer> value0927();
+    String value0928();
+    int value0929();
+    Duration value0930();
+    List<Integer> value0931();
+    String value0932();
+    int value0933();
+    Duration value0934();
+    List<Integer> value0935();
+    String value0936();
+    int value0937();
+    Duration value0938();
+    List<Integer> value0939();
+    String value0940();
+    int value0941();
+    Duration value0942();
+    List<Integer> value0943();
+    String value0944();
+    int value0945();
+    Duration value0946();
+    List<Integer> value0947();
+    String value0948();
+    int value0949();
+    Duration value0950();
+    List<Integer> value0951();
+    String value0952();
+    int value0953();
+    Duration value0954();
+    List<Integer> value0955();
+    String value0956();
+    int value0957();
+    Duration value0958();
+    List<Integer> value0959();
+    String value0960();
+    int value0961();
+    Duration value0962();
+    List<Integer> value0963();
+    String value0964();
+    int value0965();
+    Duration value0966();
+    List<Integer> value0967();
+    String value0968();
+    int value0969();
+    Duration value0970();
+    List<Integer> value0971();
+    String value0972();
+    int value0973();
+    Duration value0974();
+    List<Integer> value0975();
+    String value0976();
+    int value0977();
+    Duration value0978();
+    List<Integer> value0979();
+    String value0980();
+    int value0981();
+    Duration value0982();
+    List<Integer> value0983();
+    String value0984();
+    int value0985();
+    Duration value0986();
+    List<Integer> value0987();
+    String value0988();
+    int value0989();
+    Duration value0990();
+    List<Integer> value0991();
+    String value0992();
+    int value0993();
+    Duration value0994();
+    List<Integer> value0995();
+    String value0996();
+    int value0997();
+    Duration value0998();
+    List<Integer> value0999();
+
+}
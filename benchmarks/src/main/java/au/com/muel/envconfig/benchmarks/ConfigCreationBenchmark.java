@@ -0,0 +1,51 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.muel.envconfig.EnvConfig;
+
+/**
+ * Cold creation of a config, ie including parsing every value, for interfaces of varying size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConfigCreationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int methods;
+
+    private Class<?> configType;
+    private Map<String, String> configSource;
+
+    @Setup
+    public void setUp() {
+        configType = ConfigSources.configType(methods);
+        configSource = ConfigSources.forConfigType(configType);
+    }
+
+    @Benchmark
+    public Object fromConfigSource() {
+
+        EnvConfig.clear(Optional.empty(), configType);
+        return EnvConfig.fromConfigSource(configType, configSource);
+    }
+
+}
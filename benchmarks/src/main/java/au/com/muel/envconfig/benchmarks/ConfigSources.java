@@ -0,0 +1,56 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates config sources with a valid value for every method of the benchmark config interfaces.
+ */
+final class ConfigSources {
+
+    private ConfigSources() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Map<String, String> forConfigType(Class<?> configType) {
+
+        final Map<String, String> source = new HashMap<>();
+        for (Method m : configType.getMethods()) {
+            source.put(m.getName().toUpperCase(), valueFor(m.getReturnType()));
+        }
+
+        return source;
+    }
+
+    private static String valueFor(Class<?> type) {
+
+        if (type == int.class) {
+            return "42";
+        }
+        if (type == Duration.class) {
+            return "PT15S";
+        }
+        if (type == List.class) {
+            return "1,2,3,4,5";
+        }
+        return "value";
+    }
+
+    static Class<?> configType(int methods) {
+
+        switch (methods) {
+            case 10:
+                return Config10.class;
+            case 100:
+                return Config100.class;
+            case 1000:
+                return Config1000.class;
+            default:
+                throw new IllegalArgumentException("No config type with methods: " + methods);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package au.com.muel.envconfig.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.muel.envconfig.ParserUtils;
+
+/**
+ * Tokenising large values, eg allow-lists of hostnames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TokeniseBenchmark {
+
+    @Param({"100", "10000"})
+    private int tokens;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = IntStream.range(0, tokens)
+                .mapToObj(i -> "host" + i + ".example.com")
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public List<String> split() {
+        return ParserUtils.split(value, ',');
+    }
+
+    @Benchmark
+    public long tokenise() {
+        return ParserUtils.tokenise(value, ',').count();
+    }
+
+}
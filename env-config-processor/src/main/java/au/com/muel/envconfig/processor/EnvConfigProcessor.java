@@ -0,0 +1,558 @@
+package au.com.muel.envconfig.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Generates an implementation of each config interface that has methods annotated with
+ * {@code @EnvVar}, or that is annotated with {@code @GenerateEnvConfig}. The implementation resolves
+ * each value with straight-line code, so {@code EnvConfig} needs no reflection to create it or to
+ * call its methods.
+ *
+ * <p>An implementation of {@code com.example.Outer.MyConfig} is named
+ * {@code com.example.Outer_MyConfigEnvConfigImpl}. When an implementation can't be generated (eg a
+ * custom parser has a private constructor), {@code EnvConfig} falls back to a proxy.
+ *
+ * <p>The {@code envconfig.include} option limits the interfaces processed to those whose qualified
+ * names match a regular expression, eg {@code -Aenvconfig.include=com\.example\.config\..*}.
+ */
+@SupportedAnnotationTypes({EnvConfigProcessor.ENV_VAR, EnvConfigProcessor.GENERATE_ENV_CONFIG})
+@SupportedOptions(EnvConfigProcessor.INCLUDE_OPTION)
+public class EnvConfigProcessor extends AbstractProcessor {
+
+    static final String ENV_VAR = "au.com.muel.envconfig.EnvVar";
+    static final String GENERATE_ENV_CONFIG = "au.com.muel.envconfig.GenerateEnvConfig";
+    static final String INCLUDE_OPTION = "envconfig.include";
+
+    private static final String CONFIG_RESOLVER = "au.com.muel.envconfig.ConfigResolver";
+    private static final String GENERATED = "javax.annotation.processing.Generated";
+    private static final String IMPL_SUFFIX = "EnvConfigImpl";
+
+    private static final Pattern WORD_BOUNDARY = Pattern.compile("([a-z][A-Z])");
+    private static final char SEPARATOR = '_';
+
+    private final Set<String> generatedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        final Set<TypeElement> configTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+
+                final Element configType = element.getKind() == ElementKind.METHOD
+                        ? element.getEnclosingElement()
+                        : element;
+
+                if (configType.getKind() == ElementKind.INTERFACE) {
+                    configTypes.add((TypeElement) configType);
+                } else if (element.getKind() != ElementKind.METHOD) {
+                    error(element, "@GenerateEnvConfig is only supported on interfaces");
+                }
+            }
+        }
+
+        final String include = processingEnv.getOptions().get(INCLUDE_OPTION);
+        final Pattern includePattern = include == null ? null : Pattern.compile(include);
+        for (TypeElement configType : configTypes) {
+
+            final String name = configType.getQualifiedName().toString();
+            if (includePattern != null && !includePattern.matcher(name).matches()) {
+                continue;
+            }
+
+            if (generatedTypes.add(name)) {
+                generate(configType);
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement configType) {
+
+        final Optional<String> unsupported = unsupportedReason(configType);
+        if (unsupported.isPresent()) {
+
+            final Kind kind = annotation(configType, GENERATE_ENV_CONFIG).isPresent() ? Kind.WARNING : Kind.NOTE;
+            processingEnv.getMessager().printMessage(kind,
+                    "Config implementation not generated, a proxy will be used: " + unsupported.get(), configType);
+            return;
+        }
+
+        final List<ConfigMethod> methods = new ArrayList<>();
+        boolean valid = true;
+        for (ExecutableElement method : configMethods(configType)) {
+
+            final Optional<String> invalid = invalidReason(method);
+            if (invalid.isPresent()) {
+                error(method, invalid.get());
+                valid = false;
+                continue;
+            }
+
+            final Optional<String> unsupportedMethod = unsupportedReason(configType, method);
+            if (unsupportedMethod.isPresent()) {
+
+                final Kind kind = annotation(configType, GENERATE_ENV_CONFIG).isPresent() ? Kind.WARNING : Kind.NOTE;
+                processingEnv.getMessager().printMessage(kind,
+                        "Config implementation not generated, a proxy will be used: " + unsupportedMethod.get(), method);
+                return;
+            }
+
+            methods.add(new ConfigMethod(method, annotation(method, ENV_VAR)));
+        }
+
+        if (!valid) {
+            return;
+        }
+
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(configType);
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(configType).toString();
+        final String implName = binaryName.replace('$', '_') + IMPL_SUFFIX;
+        final String implSimpleName = packageElement.isUnnamed()
+                ? implName
+                : implName.substring(packageElement.getQualifiedName().length() + 1);
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(implName, configType).openWriter()) {
+            writer.write(writeSource(configType, packageElement, implSimpleName, methods));
+        } catch (IOException e) {
+            error(configType, "Failed to write config implementation: " + e);
+        }
+    }
+
+    /**
+     * Returns the interface methods to implement, including inherited methods.
+     */
+    private List<ExecutableElement> configMethods(TypeElement configType) {
+
+        final List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(configType))) {
+
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (method.getEnclosingElement().getKind() != ElementKind.INTERFACE
+                    || modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.PRIVATE)
+                    || isObjectMethod(method)) {
+                continue;
+            }
+
+            methods.add(method);
+        }
+
+        return methods;
+    }
+
+    private static boolean isObjectMethod(ExecutableElement method) {
+
+        final String name = method.getSimpleName().toString();
+        final int params = method.getParameters().size();
+        return (params == 0 && ("toString".equals(name) || "hashCode".equals(name)))
+                || (params == 1 && "equals".equals(name));
+    }
+
+    /**
+     * Returns why the method can't be used by a config interface at all, matching the checks that
+     * are made at runtime.
+     */
+    private Optional<String> invalidReason(ExecutableElement method) {
+
+        if (!method.getParameters().isEmpty()) {
+            return Optional.of("Methods with arguments are not allowed: " + method);
+        }
+
+        if (method.isDefault()) {
+            return Optional.of("Default methods are not supported, found: " + method);
+        }
+
+        final TypeMirror returnType = method.getReturnType();
+        if (returnType.getKind() == TypeKind.TYPEVAR) {
+            return Optional.of("Type variable return types are not allowed: " + method);
+        }
+
+        if (returnType.getKind() == TypeKind.ARRAY && !isRawArray((ArrayType) returnType)) {
+            return Optional.of("Generic array return types are not allowed: " + method);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Returns why an implementation of the config type can't be generated.
+     */
+    private Optional<String> unsupportedReason(TypeElement configType) {
+
+        if (!configType.getTypeParameters().isEmpty()) {
+            return Optional.of("generic config interfaces aren't supported");
+        }
+
+        for (Element e = configType; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return Optional.of(e + " is private");
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<String> unsupportedReason(TypeElement configType, ExecutableElement method) {
+
+        if (!isLiteral(method.getReturnType())) {
+            return Optional.of("unsupported return type " + method.getReturnType() + " of " + method);
+        }
+
+        final Optional<AnnotationMirror> envVar = annotation(method, ENV_VAR);
+        if (envVar.isPresent()) {
+            for (TypeMirror parserType : customParsers(envVar.get())) {
+                if (!isConstructible(configType, parserType)) {
+                    return Optional.of("custom parser " + parserType + " has no accessible no-args constructor");
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean isRawArray(ArrayType arrayType) {
+
+        TypeMirror componentType = arrayType.getComponentType();
+        while (componentType.getKind() == TypeKind.ARRAY) {
+            componentType = ((ArrayType) componentType).getComponentType();
+        }
+
+        return componentType.getKind().isPrimitive()
+                || (componentType.getKind() == TypeKind.DECLARED
+                        && ((DeclaredType) componentType).getTypeArguments().isEmpty());
+    }
+
+    /**
+     * Whether a type can be written as a literal, ie it doesn't have type variables or wildcards.
+     */
+    private static boolean isLiteral(TypeMirror type) {
+
+        switch (type.getKind()) {
+            case ARRAY:
+                return isRawArray((ArrayType) type);
+            case DECLARED:
+                for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                    if (!isLiteral(typeArgument)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return type.getKind().isPrimitive();
+        }
+    }
+
+    private boolean isConstructible(TypeElement configType, TypeMirror type) {
+
+        final Element element = processingEnv.getTypeUtils().asElement(type);
+        if (!(element instanceof TypeElement) || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+
+        if (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC)) {
+            // an inner class, which needs an enclosing instance
+            return false;
+        }
+
+        final boolean samePackage = processingEnv.getElementUtils().getPackageOf(element)
+                .equals(processingEnv.getElementUtils().getPackageOf(configType));
+        for (Element e = element; e instanceof TypeElement; e = e.getEnclosingElement()) {
+
+            final Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                return false;
+            }
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+
+            final Set<Modifier> modifiers = constructor.getModifiers();
+            if (constructor.getParameters().isEmpty() && !modifiers.contains(Modifier.PRIVATE)
+                    && (samePackage || modifiers.contains(Modifier.PUBLIC))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String writeSource(TypeElement configType, PackageElement packageElement, String implSimpleName,
+            List<ConfigMethod> methods) {
+
+        final String configTypeName = configType.getQualifiedName().toString();
+        final StringBuilder src = new StringBuilder(2048);
+
+        if (!packageElement.isUnnamed()) {
+            src.append("package ").append(packageElement.getQualifiedName()).append(";\n\n");
+        }
+
+        if (processingEnv.getElementUtils().getTypeElement(GENERATED) != null) {
+            src.append('@').append(GENERATED).append("(\"").append(getClass().getName()).append("\")\n");
+        }
+        src.append("public final class ").append(implSimpleName).append(" implements ").append(configTypeName).append(" {\n\n");
+
+        for (int i=0; i<methods.size(); i++) {
+            src.append("    private static final java.lang.reflect.Type type$").append(i).append(" = ")
+                    .append(typeLiteral(methods.get(i).returnType)).append(";\n");
+        }
+        src.append('\n');
+
+        for (ConfigMethod method : methods) {
+            src.append("    private final ").append(typeName(method.returnType)).append(' ').append(method.name).append(";\n");
+        }
+        src.append("    private final java.lang.String description$;\n\n");
+
+        src.append("    @SuppressWarnings(\"unchecked\")\n");
+        src.append("    public ").append(implSimpleName).append('(').append(CONFIG_RESOLVER).append(" resolver) {\n");
+        for (int i=0; i<methods.size(); i++) {
+
+            final ConfigMethod method = methods.get(i);
+            src.append("        this.").append(method.name).append(" = (").append(castType(method.returnType))
+                    .append(") resolver.resolve(").append(literal(method.name)).append(", ")
+                    .append(method.envVarNameExpression()).append(", ")
+                    .append(literal(method.defaultValue)).append(", type$").append(i);
+            for (TypeMirror parserType : method.customParsers) {
+                src.append(", ").append(rawTypeName(parserType)).append(".class");
+            }
+            src.append(");\n");
+        }
+        src.append("        this.description$ = resolver.describe(").append(configTypeName).append(".class);\n");
+        src.append("        resolver.complete();\n");
+        src.append("    }\n");
+
+        for (ConfigMethod method : methods) {
+            src.append("\n    @Override\n");
+            src.append("    public ").append(typeName(method.returnType)).append(' ').append(method.name).append("() {\n");
+            src.append("        return ").append(method.name).append(";\n");
+            src.append("    }\n");
+        }
+
+        src.append("\n    @Override\n");
+        src.append("    public java.lang.String toString() {\n");
+        src.append("        return description$;\n");
+        src.append("    }\n\n");
+        src.append("}\n");
+
+        return src.toString();
+    }
+
+    private String castType(TypeMirror type) {
+
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+
+        return typeName(type);
+    }
+
+    /**
+     * Returns the source name of a literal type. Unlike {@link TypeMirror#toString()} this leaves
+     * out type annotations, which aren't allowed in class literals or every position of a name.
+     */
+    private static String typeName(TypeMirror type) {
+
+        switch (type.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                final DeclaredType declaredType = (DeclaredType) type;
+                final StringBuilder name = new StringBuilder(rawTypeName(declaredType));
+                final List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+                for (int i=0; i<typeArguments.size(); i++) {
+                    name.append(i == 0 ? "<" : ", ").append(typeName(typeArguments.get(i)));
+                }
+                return typeArguments.isEmpty() ? name.toString() : name.append('>').toString();
+            default:
+                return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static String rawTypeName(TypeMirror type) {
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            return rawTypeName(((ArrayType) type).getComponentType()) + "[]";
+        }
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+
+        return typeName(type);
+    }
+
+    private String typeLiteral(TypeMirror type) {
+
+        final String rawLiteral = rawTypeName(type) + ".class";
+        if (type.getKind() != TypeKind.DECLARED || ((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return rawLiteral;
+        }
+
+        final StringBuilder literal = new StringBuilder(CONFIG_RESOLVER).append(".parameterizedType(").append(rawLiteral);
+        for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+            literal.append(", ").append(typeLiteral(typeArgument));
+        }
+
+        return literal.append(')').toString();
+    }
+
+    private static String literal(String value) {
+
+        final StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i=0; i<value.length(); i++) {
+
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < ' ' || c > '~') {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    private static String splitWords(String methodName) {
+
+        final Matcher matcher = WORD_BOUNDARY.matcher(methodName);
+        final StringBuilder builder = new StringBuilder(methodName.length() + 8);
+        int start = 0;
+        while (matcher.find()) {
+
+            final int middle = matcher.start()+1;
+            builder.append(methodName, start, middle);
+            builder.append(SEPARATOR);
+            builder.append(methodName, middle, matcher.end());
+            start = matcher.end();
+        }
+
+        return builder.append(methodName.substring(start)).toString();
+    }
+
+    private static Optional<AnnotationMirror> annotation(Element element, String annotationType) {
+
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final Element annotationElement = mirror.getAnnotationType().asElement();
+            if (((TypeElement) annotationElement).getQualifiedName().contentEquals(annotationType)) {
+                return Optional.of(mirror);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Object annotationValue(AnnotationMirror mirror, String name) {
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        throw new IllegalStateException("Missing annotation value: " + name);
+    }
+
+    private List<TypeMirror> customParsers(AnnotationMirror envVar) {
+
+        final List<TypeMirror> parserTypes = new ArrayList<>();
+        for (Object value : (List<?>) annotationValue(envVar, "customParsers")) {
+            parserTypes.add((TypeMirror) ((AnnotationValue) value).getValue());
+        }
+
+        return parserTypes;
+    }
+
+    private void error(Element element, String msg) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, msg, element);
+    }
+
+    /**
+     * A config interface method, along with its {@code @EnvVar} configuration.
+     */
+    private final class ConfigMethod {
+
+        final String name;
+        final TypeMirror returnType;
+        final boolean splitWords;
+        final String defaultValue;
+        final String envVarName;
+        final List<TypeMirror> customParsers;
+
+        ConfigMethod(ExecutableElement method, Optional<AnnotationMirror> envVar) {
+
+            this.name = method.getSimpleName().toString();
+            this.returnType = method.getReturnType();
+            this.splitWords = envVar.map(a -> (Boolean) annotationValue(a, "splitWords")).orElse(true);
+            this.defaultValue = envVar.map(a -> (String) annotationValue(a, "defaultValue")).orElse("");
+            this.envVarName = envVar.map(a -> (String) annotationValue(a, "envVarName")).orElse("");
+            this.customParsers = envVar.map(EnvConfigProcessor.this::customParsers).orElse(List.of());
+        }
+
+        String envVarNameExpression() {
+
+            if (!envVarName.isEmpty()) {
+                return literal(envVarName);
+            }
+
+            return "resolver.envVarName(" + literal(splitWords ? splitWords(name) : name) + ")";
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How often each method of a config type has been called, over every config of that type created
+ * by a {@link EnvConfigLoader#profiled()} loader. Hot methods may be worth reading once into a
+ * field, and methods that are never called may be obsolete or worth parsing lazily.
+ */
+public final class AccessReport {
+
+    // counted per slot, and shared by every profiled config of the type
+    private static final ClassValue<LongAdder[]> COUNTERS = new ClassValue<>() {
+        @Override
+        protected LongAdder[] computeValue(Class<?> configType) {
+
+            final LongAdder[] counters = new LongAdder[DispatchTable.forType(configType).size()];
+            for (int i=0; i<counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+            return counters;
+        }
+    };
+
+    private final Class<?> configType;
+    private final Map<String, Long> counts;
+
+    private AccessReport(Class<?> configType, Map<String, Long> counts) {
+        this.configType = configType;
+        this.counts = counts;
+    }
+
+    static LongAdder[] counters(Class<?> configType) {
+        return COUNTERS.get(configType);
+    }
+
+    static AccessReport of(Class<?> configType) {
+
+        final List<Method> methods = DispatchTable.forType(configType).methods();
+        final LongAdder[] counters = COUNTERS.get(configType);
+
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i=0; i<counters.length; i++) {
+            counts.put(methods.get(i).getName(), counters[i].sum());
+        }
+        return new AccessReport(configType, Collections.unmodifiableMap(counts));
+    }
+
+    public Class<?> configType() {
+        return configType;
+    }
+
+    /**
+     * Returns the number of calls of each method, in the order the methods are declared.
+     */
+    public Map<String, Long> counts() {
+        return counts;
+    }
+
+    /**
+     * Returns the names of the most called methods, most called first, omitting those never called.
+     */
+    public List<String> hottest(int limit) {
+
+        final List<String> called = new ArrayList<>();
+        counts.forEach((method, count) -> {
+            if (count > 0) {
+                called.add(method);
+            }
+        });
+
+        called.sort((a, b) -> Long.compare(counts.get(b), counts.get(a)));
+        return Collections.unmodifiableList(called.subList(0, Math.min(limit, called.size())));
+    }
+
+    /**
+     * Returns the names of the methods that have never been called, in the order they're declared.
+     */
+    public List<String> neverRead() {
+
+        final List<String> neverRead = new ArrayList<>();
+        counts.forEach((method, count) -> {
+            if (count == 0) {
+                neverRead.add(method);
+            }
+        });
+        return Collections.unmodifiableList(neverRead);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AccessReport[%s: %s]", configType.getSimpleName(), counts);
+    }
+
+}
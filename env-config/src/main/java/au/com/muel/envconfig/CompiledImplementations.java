@@ -0,0 +1,67 @@
+package au.com.muel.envconfig;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds config implementations that were generated by the env-config annotation processor. An
+ * implementation of {@code com.example.Outer.MyConfig} is named
+ * {@code com.example.Outer_MyConfigEnvConfigImpl}.
+ */
+final class CompiledImplementations {
+
+    static final String IMPL_SUFFIX = "EnvConfigImpl";
+
+    private static final ClassValue<Optional<MethodHandle>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> configType) {
+            return findConstructor(configType);
+        }
+    };
+
+    private CompiledImplementations() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates an instance of the generated implementation of the config type, if there is one.
+     */
+    static Optional<Object> create(Class<?> configType, Optional<String> namespace,
+            Map<String, String> configSource, ValueInterner interner) {
+
+        return CONSTRUCTORS.get(configType).map(constructor -> {
+
+            try {
+                return constructor.invokeExact(new ConfigResolver(configType, namespace, configSource, interner));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to create generated config: " + e, e);
+            }
+        });
+    }
+
+    private static Optional<MethodHandle> findConstructor(Class<?> configType) {
+
+        final String implName = configType.getName().replace('$', '_') + IMPL_SUFFIX;
+        try {
+
+            final Class<?> implType = Class.forName(implName, false, configType.getClassLoader());
+            if (!configType.isAssignableFrom(implType)) {
+                return Optional.empty();
+            }
+
+            return Optional.of(MethodHandles.publicLookup()
+                    .findConstructor(implType, methodType(void.class, ConfigResolver.class))
+                    .asType(methodType(Object.class, ConfigResolver.class)));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | LinkageError e) {
+
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package au.com.muel.envconfig;
+
+import java.util.List;
+
+/**
+ * Notified when a {@link ReloadableConfig} is reloaded. An exception thrown by a listener doesn't
+ * stop other listeners being notified. It's rethrown by {@link ReloadableConfig#reload()}, or for a
+ * scheduled reload, reported to the scheduler thread's uncaught exception handler.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener<T> {
+
+    /**
+     * Called after a reload has swapped in a config with changed values.
+     *
+     * @param changedMethods the names of the config methods whose values changed
+     */
+    void onChange(T previous, T current, List<String> changedMethods);
+
+    /**
+     * Called when a scheduled reload fails, in which case the previous config is kept.
+     */
+    default void onReloadFailure(RuntimeException e) {
+    }
+
+}
@@ -0,0 +1,501 @@
+package au.com.muel.envconfig;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates a concrete implementation class for a config interface. The class holds each value in a
+ * final field, populated once by its constructor, so accessors are plain field reads.
+ *
+ * <p>The class is defined in the config interface's package (and class loader) so that
+ * package-private interfaces and return types can be implemented. There are no dependencies on a
+ * bytecode library, the class file is written directly. As the generated code has no branches, no
+ * stack map frames are required.
+ */
+final class ConfigClassGenerator {
+
+    private static final String CLASS_SUFFIX = "$$EnvConfig";
+    private static final String DESCRIPTION_FIELD = "description";
+
+    private static final int CLASS_FILE_VERSION = 55;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final Object LOCK = new Object();
+
+    private static final ClassValue<Optional<GeneratedClass>> GENERATED_CLASSES = new ClassValue<>() {
+        @Override
+        protected Optional<GeneratedClass> computeValue(Class<?> configType) {
+            synchronized (LOCK) {
+                return generate(configType);
+            }
+        }
+    };
+
+    private ConfigClassGenerator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the generated class for the config type, or empty if one can't be generated - in which
+     * case a proxy should be used instead.
+     */
+    static Optional<GeneratedClass> forType(Class<?> configType) {
+        return GENERATED_CLASSES.get(configType);
+    }
+
+    private static Optional<GeneratedClass> generate(Class<?> configType) {
+
+        if (!configType.isInterface()) {
+            return Optional.empty();
+        }
+
+        final List<Method> methods = new ArrayList<>();
+        final List<Integer> slots = new ArrayList<>();
+        final Set<String> signatures = new HashSet<>();
+        final DispatchTable dispatchTable = DispatchTable.forType(configType);
+        for (int slot=0; slot<dispatchTable.size(); slot++) {
+
+            final Method m = dispatchTable.method(slot);
+
+            if (isObjectMethod(m)) {
+                continue;
+            }
+
+            if (m.isDefault() || m.getParameterCount() > 0 || !isAccessible(m.getReturnType(), configType)) {
+                return Optional.empty();
+            }
+
+            if (signatures.add(m.getName() + descriptor(m.getReturnType()))) {
+                methods.add(m);
+                slots.add(slot);
+            }
+        }
+
+        try {
+
+            final Lookup lookup = MethodHandles.privateLookupIn(configType, MethodHandles.lookup());
+            final String className = configType.getName() + CLASS_SUFFIX;
+
+            Class<?> generatedType;
+            try {
+                generatedType = lookup.findClass(className);
+            } catch (ClassNotFoundException e) {
+                generatedType = lookup.defineClass(writeClass(className, configType, methods));
+            }
+
+            final MethodHandle constructor = lookup
+                    .findConstructor(generatedType, methodType(void.class, Object[].class, String.class))
+                    .asType(methodType(Object.class, Object[].class, String.class));
+
+            return Optional.of(new GeneratedClass(slots, constructor));
+        } catch (IllegalAccessException | NoSuchMethodException | LinkageError | SecurityException e) {
+
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isObjectMethod(Method m) {
+        return m.getParameterCount() == 0
+                && ("toString".equals(m.getName()) || "hashCode".equals(m.getName()));
+    }
+
+    private static boolean isAccessible(Class<?> type, Class<?> configType) {
+
+        Class<?> componentType = type;
+        while (componentType.isArray()) {
+            componentType = componentType.getComponentType();
+        }
+
+        if (componentType.isPrimitive()) {
+            return true;
+        }
+
+        if (componentType.getClassLoader() == configType.getClassLoader()
+                && componentType.getPackageName().equals(configType.getPackageName())) {
+            return true;
+        }
+
+        for (Class<?> c = componentType; c != null; c = c.getDeclaringClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte[] writeClass(String className, Class<?> configType, List<Method> methods) {
+
+        final ConstantPool pool = new ConstantPool();
+        final String thisClass = internalName(className);
+        final int thisClassIndex = pool.classRef(thisClass);
+        final int superClassIndex = pool.classRef("java/lang/Object");
+        final int interfaceIndex = pool.classRef(internalName(configType.getName()));
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+
+            out.writeShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(thisClassIndex);
+            out.writeShort(superClassIndex);
+            out.writeShort(1);
+            out.writeShort(interfaceIndex);
+
+            // a field per method, plus the description returned by toString()
+            out.writeShort(methods.size() + 1);
+            for (int i=0; i<methods.size(); i++) {
+                writeMember(out, pool, ACC_PRIVATE | ACC_FINAL, fieldName(i), descriptor(methods.get(i).getReturnType()));
+                out.writeShort(0);
+            }
+            writeMember(out, pool, ACC_PRIVATE | ACC_FINAL, DESCRIPTION_FIELD, "Ljava/lang/String;");
+            out.writeShort(0);
+
+            out.writeShort(methods.size() + 2);
+            writeConstructor(out, pool, thisClass, methods);
+            for (int i=0; i<methods.size(); i++) {
+
+                final Class<?> returnType = methods.get(i).getReturnType();
+                final Code code = new Code(2, 1);
+                code.op(0x2a); // aload_0
+                code.op(0xb4).u2(pool.fieldRef(thisClass, fieldName(i), descriptor(returnType))); // getfield
+                code.op(returnOpcode(returnType));
+
+                writeMember(out, pool, ACC_PUBLIC | ACC_FINAL, methods.get(i).getName(), "()" + descriptor(returnType));
+                code.writeTo(out, pool);
+            }
+
+            final Code toStringCode = new Code(1, 1);
+            toStringCode.op(0x2a); // aload_0
+            toStringCode.op(0xb4).u2(pool.fieldRef(thisClass, DESCRIPTION_FIELD, "Ljava/lang/String;")); // getfield
+            toStringCode.op(0xb0); // areturn
+            writeMember(out, pool, ACC_PUBLIC | ACC_FINAL, "toString", "()Ljava/lang/String;");
+            toStringCode.writeTo(out, pool);
+
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(classFile)) {
+
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            pool.writeTo(out);
+            body.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return classFile.toByteArray();
+    }
+
+    private static void writeConstructor(DataOutputStream out, ConstantPool pool, String thisClass,
+            List<Method> methods) throws IOException {
+
+        final Code code = new Code(4, 3);
+        code.op(0x2a); // aload_0
+        code.op(0xb7).u2(pool.methodRef("java/lang/Object", "<init>", "()V")); // invokespecial
+
+        for (int i=0; i<methods.size(); i++) {
+
+            final Class<?> returnType = methods.get(i).getReturnType();
+            code.op(0x2a); // aload_0
+            code.op(0x2b); // aload_1
+            code.pushInt(i, pool);
+            code.op(0x32); // aaload
+
+            if (returnType.isPrimitive()) {
+
+                final String wrapper = internalName(WRAPPERS.get(returnType).getName());
+                code.op(0xc0).u2(pool.classRef(wrapper)); // checkcast
+                code.op(0xb6).u2(pool.methodRef(wrapper, returnType.getName() + "Value", "()" + descriptor(returnType))); // invokevirtual
+            } else {
+
+                code.op(0xc0).u2(pool.classRef(internalName(returnType.getName()))); // checkcast
+            }
+
+            code.op(0xb5).u2(pool.fieldRef(thisClass, fieldName(i), descriptor(returnType))); // putfield
+        }
+
+        code.op(0x2a); // aload_0
+        code.op(0x2c); // aload_2
+        code.op(0xb5).u2(pool.fieldRef(thisClass, DESCRIPTION_FIELD, "Ljava/lang/String;")); // putfield
+        code.op(0xb1); // return
+
+        writeMember(out, pool, 0, "<init>", "([Ljava/lang/Object;Ljava/lang/String;)V");
+        code.writeTo(out, pool);
+    }
+
+    private static void writeMember(DataOutputStream out, ConstantPool pool, int access, String name,
+            String descriptor) throws IOException {
+
+        out.writeShort(access);
+        out.writeShort(pool.utf8(name));
+        out.writeShort(pool.utf8(descriptor));
+    }
+
+    private static String fieldName(int index) {
+        return "value" + index;
+    }
+
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS;
+    private static final Map<Class<?>, String> PRIMITIVE_DESCRIPTORS;
+
+    static {
+
+        final Map<Class<?>, Class<?>> wrappers = new HashMap<>();
+        wrappers.put(boolean.class, Boolean.class);
+        wrappers.put(char.class,    Character.class);
+        wrappers.put(byte.class,    Byte.class);
+        wrappers.put(short.class,   Short.class);
+        wrappers.put(int.class,     Integer.class);
+        wrappers.put(long.class,    Long.class);
+        wrappers.put(float.class,   Float.class);
+        wrappers.put(double.class,  Double.class);
+        WRAPPERS = Collections.unmodifiableMap(wrappers);
+
+        final Map<Class<?>, String> descriptors = new HashMap<>();
+        descriptors.put(boolean.class, "Z");
+        descriptors.put(char.class,    "C");
+        descriptors.put(byte.class,    "B");
+        descriptors.put(short.class,   "S");
+        descriptors.put(int.class,     "I");
+        descriptors.put(long.class,    "J");
+        descriptors.put(float.class,   "F");
+        descriptors.put(double.class,  "D");
+        descriptors.put(void.class,    "V");
+        PRIMITIVE_DESCRIPTORS = Collections.unmodifiableMap(descriptors);
+    }
+
+    private static String descriptor(Class<?> type) {
+
+        if (type.isPrimitive()) {
+            return PRIMITIVE_DESCRIPTORS.get(type);
+        }
+
+        if (type.isArray()) {
+            return internalName(type.getName());
+        }
+
+        return "L" + internalName(type.getName()) + ";";
+    }
+
+    private static int returnOpcode(Class<?> type) {
+
+        if (type == long.class) {
+            return 0xad; // lreturn
+        }
+        if (type == float.class) {
+            return 0xae; // freturn
+        }
+        if (type == double.class) {
+            return 0xaf; // dreturn
+        }
+        if (type.isPrimitive()) {
+            return 0xac; // ireturn
+        }
+        return 0xb0; // areturn
+    }
+
+    /**
+     * A generated implementation of a config interface.
+     */
+    static final class GeneratedClass {
+
+        // the slot of the value of each field
+        private final int[] slots;
+        private final MethodHandle constructor;
+
+        private GeneratedClass(List<Integer> slots, MethodHandle constructor) {
+            this.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+            this.constructor = constructor;
+        }
+
+        /**
+         * Creates an instance holding the already validated values, indexed by slot, and description.
+         */
+        Object newInstance(Object[] values, String description) {
+
+            final Object[] fieldValues = new Object[slots.length];
+            for (int i=0; i<fieldValues.length; i++) {
+                fieldValues[i] = values[slots[i]];
+            }
+
+            try {
+                return constructor.invokeExact(fieldValues, description);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to create generated config: " + e, e);
+            }
+        }
+    }
+
+    /**
+     * The constant pool of the class file being written, which de-duplicates entries.
+     */
+    private static final class ConstantPool {
+
+        private final Map<String, Integer> entries = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("Utf8:" + value, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int integer(int value) {
+            return entry("Integer:" + value, () -> {
+                out.writeByte(3);
+                out.writeInt(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            final int nameIndex = utf8(internalName);
+            return entry("Class:" + internalName, () -> {
+                out.writeByte(7);
+                out.writeShort(nameIndex);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+
+            final int classIndex = classRef(owner);
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            final int nameAndTypeIndex = entry("NameAndType:" + name + ":" + descriptor, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+
+            return entry(tag + ":" + owner + "." + name + ":" + descriptor, () -> {
+                out.writeByte(tag);
+                out.writeShort(classIndex);
+                out.writeShort(nameAndTypeIndex);
+            });
+        }
+
+        private int entry(String key, EntryWriter writer) {
+
+            final Integer existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            final int index = count++;
+            entries.put(key, index);
+            return index;
+        }
+
+        void writeTo(DataOutputStream classFile) throws IOException {
+            classFile.writeShort(count);
+            bytes.writeTo(classFile);
+        }
+
+        @FunctionalInterface
+        private interface EntryWriter {
+            void write() throws IOException;
+        }
+    }
+
+    /**
+     * A method's code attribute.
+     */
+    private static final class Code {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int maxStack;
+        private final int maxLocals;
+
+        Code(int maxStack, int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        void pushInt(int value, ConstantPool pool) {
+
+            if (value <= 5) {
+                op(0x03 + value); // iconst_<n>
+            } else if (value <= Byte.MAX_VALUE) {
+                op(0x10).op(value); // bipush
+            } else if (value <= Short.MAX_VALUE) {
+                op(0x11).u2(value); // sipush
+            } else {
+                op(0x13).u2(pool.integer(value)); // ldc_w
+            }
+        }
+
+        void writeTo(DataOutputStream out, ConstantPool pool) throws IOException {
+
+            out.writeShort(1);
+            out.writeShort(pool.utf8("Code"));
+            out.writeInt(12 + bytes.size());
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.writeShort(0); // exception table
+            out.writeShort(0); // attributes
+        }
+    }
+
+}
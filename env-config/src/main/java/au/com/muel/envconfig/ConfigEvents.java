@@ -0,0 +1,73 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * Emits JDK Flight Recorder events for config creation, parsing, reloading and cache eviction, if
+ * the {@code jdk.jfr} module is present. Events are only created while a recording enables them,
+ * and never carry values, since they may be secrets.
+ *
+ * <p>The begin methods return the event to pass to the matching end method, or null if it isn't
+ * being recorded. They're typed as {@code Object} so that nothing refers to {@code jdk.jfr} types
+ * unless the module is present.
+ */
+final class ConfigEvents {
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private ConfigEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Object beginCreation() {
+        return AVAILABLE ? FlightRecorderEvents.beginCreation() : null;
+    }
+
+    static void endCreation(Object event, Optional<String> namespace, Class<?> configType) {
+        if (event != null) {
+            FlightRecorderEvents.endCreation(event, namespace, configType);
+        }
+    }
+
+    static Object beginParse() {
+        return AVAILABLE ? FlightRecorderEvents.beginParse() : null;
+    }
+
+    static void endParse(Object event, Optional<String> namespace, Class<?> configType, String methodName,
+            String envVarName, Type targetType) {
+        if (event != null) {
+            FlightRecorderEvents.endParse(event, namespace, configType, methodName, envVarName, targetType);
+        }
+    }
+
+    static Object beginReload() {
+        return AVAILABLE ? FlightRecorderEvents.beginReload() : null;
+    }
+
+    static void endReload(Object event, Optional<String> namespace, Class<?> configType, int changedMethods) {
+        if (event != null) {
+            FlightRecorderEvents.endReload(event, namespace, configType, changedMethods);
+        }
+    }
+
+    /**
+     * Records the eviction of cached configs, where a null config type means every type.
+     */
+    static void evicted(Optional<String> namespace, Class<?> configType, int evictedConfigs) {
+        if (AVAILABLE) {
+            FlightRecorderEvents.evicted(namespace, configType, evictedConfigs);
+        }
+    }
+
+    private static boolean isAvailable() {
+
+        try {
+            Class.forName("jdk.jfr.Event", false, ConfigEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metrics listener that records counts and timings, which can be read as a snapshot with
+ * {@link #getStats()}. Eg to find the slowest methods at startup:
+ *
+ * <pre>{@code
+ * ConfigMetrics metrics = new ConfigMetrics();
+ * EnvConfig.setMetricsListener(metrics);
+ * ...
+ * metrics.getStats().methods().stream().limit(10).forEach(System.out::println);
+ * }</pre>
+ */
+public final class ConfigMetrics implements ConfigMetricsListener {
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder proxyCreations = new LongAdder();
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, MethodRecorder>> methods = new ConcurrentHashMap<>();
+
+    @Override
+    public void onConfigRequested(Class<?> configType, boolean cacheHit) {
+        (cacheHit ? cacheHits : cacheMisses).increment();
+    }
+
+    @Override
+    public void onProxyCreated(Class<?> configType) {
+        proxyCreations.increment();
+    }
+
+    @Override
+    public void onMethodResolved(Class<?> configType, String methodName, long nameNanos, long lookupNanos,
+            long parseNanos, int resultSize) {
+
+        methods.computeIfAbsent(configType, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(methodName, m -> new MethodRecorder())
+                .record(nameNanos, lookupNanos, parseNanos, resultSize);
+    }
+
+    /**
+     * Returns a snapshot of the metrics recorded so far.
+     */
+    public Stats getStats() {
+
+        final List<MethodStats> methodStats = new ArrayList<>();
+        methods.forEach((configType, recorders) -> recorders.forEach((methodName, recorder) ->
+                methodStats.add(recorder.snapshot(configType, methodName))));
+        methodStats.sort(Comparator.comparingLong(MethodStats::totalNanos).reversed());
+
+        return new Stats(cacheHits.sum(), cacheMisses.sum(), proxyCreations.sum(),
+                Collections.unmodifiableList(methodStats));
+    }
+
+    /**
+     * Returns the size of a resolved value, as reported to {@link ConfigMetricsListener}.
+     */
+    static int sizeOf(Object value) {
+
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).isPresent() ? 1 : 0;
+        }
+
+        if (value != null && value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+
+        return 1;
+    }
+
+    /**
+     * A snapshot of the recorded metrics.
+     */
+    public static final class Stats {
+
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final long proxyCreations;
+        private final List<MethodStats> methods;
+
+        private Stats(long cacheHits, long cacheMisses, long proxyCreations, List<MethodStats> methods) {
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            this.proxyCreations = proxyCreations;
+            this.methods = methods;
+        }
+
+        /**
+         * Returns the number of requested configs that were already cached.
+         */
+        public long cacheHits() {
+            return cacheHits;
+        }
+
+        public long cacheMisses() {
+            return cacheMisses;
+        }
+
+        public long proxyCreations() {
+            return proxyCreations;
+        }
+
+        /**
+         * Returns the stats of each method that's been resolved, slowest first.
+         */
+        public List<MethodStats> methods() {
+            return methods;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats[cacheHits=%d, cacheMisses=%d, proxyCreations=%d, methods=%d]",
+                    cacheHits, cacheMisses, proxyCreations, methods.size());
+        }
+    }
+
+    /**
+     * The totals for a method of a config type, over every config of that type.
+     */
+    public static final class MethodStats {
+
+        private final Class<?> configType;
+        private final String methodName;
+        private final long resolutions;
+        private final long nameNanos;
+        private final long lookupNanos;
+        private final long parseNanos;
+        private final int maxResultSize;
+
+        private MethodStats(Class<?> configType, String methodName, long resolutions, long nameNanos,
+                long lookupNanos, long parseNanos, int maxResultSize) {
+            this.configType = configType;
+            this.methodName = methodName;
+            this.resolutions = resolutions;
+            this.nameNanos = nameNanos;
+            this.lookupNanos = lookupNanos;
+            this.parseNanos = parseNanos;
+            this.maxResultSize = maxResultSize;
+        }
+
+        public Class<?> configType() {
+            return configType;
+        }
+
+        public String methodName() {
+            return methodName;
+        }
+
+        /**
+         * Returns the number of times the method's value was resolved, ie once per config instance.
+         */
+        public long resolutions() {
+            return resolutions;
+        }
+
+        public long nameNanos() {
+            return nameNanos;
+        }
+
+        public long lookupNanos() {
+            return lookupNanos;
+        }
+
+        public long parseNanos() {
+            return parseNanos;
+        }
+
+        public long totalNanos() {
+            return nameNanos + lookupNanos + parseNanos;
+        }
+
+        public int maxResultSize() {
+            return maxResultSize;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s.%s() - resolutions=%d, name=%dns, lookup=%dns, parse=%dns, maxResultSize=%d",
+                    configType.getSimpleName(), methodName, resolutions, nameNanos, lookupNanos, parseNanos,
+                    maxResultSize);
+        }
+    }
+
+    private static final class MethodRecorder {
+
+        private final LongAdder resolutions = new LongAdder();
+        private final LongAdder nameNanos = new LongAdder();
+        private final LongAdder lookupNanos = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAccumulator maxResultSize = new LongAccumulator(Math::max, 0);
+
+        void record(long nameNanos, long lookupNanos, long parseNanos, int resultSize) {
+            this.resolutions.increment();
+            this.nameNanos.add(nameNanos);
+            this.lookupNanos.add(lookupNanos);
+            this.parseNanos.add(parseNanos);
+            this.maxResultSize.accumulate(resultSize);
+        }
+
+        MethodStats snapshot(Class<?> configType, String methodName) {
+            return new MethodStats(configType, methodName, resolutions.sum(), nameNanos.sum(), lookupNanos.sum(),
+                    parseNanos.sum(), (int) maxResultSize.get());
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package au.com.muel.envconfig;
+
+/**
+ * Notified as configs are created and their values resolved, eg to find what's slowing startup.
+ * Listeners are called on the thread doing the work, so should be quick and thread-safe.
+ *
+ * @see EnvConfig#setMetricsListener(ConfigMetricsListener)
+ * @see ConfigMetrics
+ */
+public interface ConfigMetricsListener {
+
+    /**
+     * Called when a config is requested, with whether a cached config was returned. A request that
+     * waits for another thread to create the config is a miss.
+     */
+    default void onConfigRequested(Class<?> configType, boolean cacheHit) {
+    }
+
+    /**
+     * Called when a proxy is created for a config.
+     */
+    default void onProxyCreated(Class<?> configType) {
+    }
+
+    /**
+     * Called when a method's value has been resolved.
+     *
+     * @param nameNanos the time taken to resolve the variable name
+     * @param lookupNanos the time taken to look the variable up in the source
+     * @param parseNanos the time taken to parse the value
+     * @param resultSize the number of elements of a collection, map or array value, the length of
+     *        a string value, otherwise 1 (or 0 for an empty {@code Optional})
+     */
+    default void onMethodResolved(Class<?> configType, String methodName, long nameNanos, long lookupNanos,
+            long parseNanos, int resultSize) {
+    }
+
+}
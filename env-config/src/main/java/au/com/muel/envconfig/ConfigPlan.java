@@ -0,0 +1,139 @@
+package au.com.muel.envconfig;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import au.com.muel.envconfig.ConfigClassGenerator.GeneratedClass;
+
+/**
+ * What's needed to create configs of a type that doesn't depend on the namespace, computed once per
+ * config type. This is the variable name of each method, so that the names for a namespace are
+ * concatenations rather than resolved from method names and annotations every time, along with the
+ * resolved {@code EnvVar} and target type of each method, so that a generated class can be created
+ * from values parsed directly rather than through a proxy.
+ */
+final class ConfigPlan {
+
+    private static final ClassValue<ConfigPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ConfigPlan computeValue(Class<?> configType) {
+            return new ConfigPlan(configType);
+        }
+    };
+
+    private static final EnvVar DEFAULT_VALUES = DefaultInvocationHandler.annotationDefaults();
+
+    private final Class<?> configType;
+    private final List<String> unprefixedNames;
+    private final boolean[] fixedNames;
+    private final String[] methodNames;
+    private final EnvVar[] envVarConfigs;
+    private final Type[] targetTypes;
+    private final String[] invalidMethods;
+
+    private ConfigPlan(Class<?> configType) {
+
+        this.configType = configType;
+        this.unprefixedNames = new DefaultInvocationHandler(Optional.empty(), configType, Map.of()).envVarNames();
+
+        final List<Method> methods = DispatchTable.forType(configType).methods();
+        this.fixedNames = new boolean[methods.size()];
+        this.methodNames = new String[methods.size()];
+        this.envVarConfigs = new EnvVar[methods.size()];
+        this.targetTypes = new Type[methods.size()];
+        this.invalidMethods = new String[methods.size()];
+        for (int i=0; i<fixedNames.length; i++) {
+
+            final Method method = methods.get(i);
+            final EnvVar envVar = method.getAnnotation(EnvVar.class);
+            fixedNames[i] = envVar != null && !envVar.envVarName().isEmpty();
+            methodNames[i] = method.getName();
+            envVarConfigs[i] = envVar == null ? DEFAULT_VALUES : envVar;
+            targetTypes[i] = method.getGenericReturnType();
+
+            try {
+                DefaultInvocationHandler.validateMethod(method);
+            } catch (RuntimeException e) {
+                invalidMethods[i] = e.getMessage();
+            }
+        }
+    }
+
+    static ConfigPlan forType(Class<?> configType) {
+        return PLANS.get(configType);
+    }
+
+    /**
+     * Returns the name of the variable read by each method in the namespace, indexed by slot.
+     */
+    List<String> envVarNames(Optional<String> namespace) {
+
+        if (namespace.isEmpty()) {
+            return unprefixedNames;
+        }
+
+        final String prefix = namespace.get().toUpperCase() + '_';
+        final List<String> envVarNames = new ArrayList<>(unprefixedNames.size());
+        for (int i=0; i<fixedNames.length; i++) {
+            final String name = unprefixedNames.get(i);
+            envVarNames.add(fixedNames[i] ? name : prefix + name);
+        }
+        return List.copyOf(envVarNames);
+    }
+
+    /**
+     * Creates an instance of the type's generated class from values parsed from the source, or
+     * returns empty if the type has no generated class. Errors are reported in the same way as when
+     * a proxy is validated.
+     */
+    Optional<Object> createGenerated(Optional<String> namespace, Map<String, String> configSource,
+            List<String> envVarNames, ValueInterner interner) {
+
+        final Optional<GeneratedClass> generatedClass = ConfigClassGenerator.forType(configType);
+        if (generatedClass.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Object event = ConfigEvents.beginCreation();
+        final Object[] values = new Object[methodNames.length];
+        final String[] errors = new String[values.length];
+        for (int i=0; i<values.length; i++) {
+
+            try {
+                if (invalidMethods[i] != null) {
+                    errors[i] = format("%s() - %s", methodNames[i], invalidMethods[i]);
+                } else {
+                    values[i] = parse(i, namespace, envVarNames.get(i), configSource, interner);
+                }
+            } catch (RuntimeException e) {
+                errors[i] = format("%s() - %s", methodNames[i], e.getMessage());
+            }
+        }
+
+        EnvConfig.throwIfErrors("Failed to parse config with errors: ", errors);
+        ConfigEvents.endCreation(event, namespace, configType);
+
+        return Optional.of(generatedClass.get().newInstance(values,
+                DefaultInvocationHandler.describe(configType, namespace)));
+    }
+
+    private Object parse(int slot, Optional<String> namespace, String envVarName, Map<String, String> configSource,
+            ValueInterner interner) {
+
+        final EnvVar envVarConfig = envVarConfigs[slot];
+        final Type targetType = targetTypes[slot];
+
+        // values parsed by custom parsers may not be immutable, so they're never shared
+        return ValueResolver.resolve(configType, namespace, methodNames[slot], targetType, envVarName, 0,
+                name -> ValueResolver.valueOrDefault(configSource.get(name), envVarConfig.defaultValue()),
+                value -> CustomParsers.converter(envVarConfig.customParsers()).convert(targetType, value),
+                envVarConfig.customParsers().length == 0 ? interner : null);
+    }
+
+}
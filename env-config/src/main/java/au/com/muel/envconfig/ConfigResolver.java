@@ -0,0 +1,175 @@
+package au.com.muel.envconfig;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Resolves the values of a config implementation generated by the env-config annotation processor.
+ * Generated constructors call {@link #resolve} for each method, then {@link #complete()} to report
+ * any errors in the same way as a proxy-based config. This isn't intended to be used directly.
+ */
+public final class ConfigResolver {
+
+    private static final char SEPARATOR = '_';
+
+    private final Class<?> configType;
+    private final Optional<String> namespace;
+    private final Map<String, String> configSource;
+    private final ValueInterner interner;
+    private final List<String> errors = new ArrayList<>();
+    private final Object event = ConfigEvents.beginCreation();
+
+    ConfigResolver(Class<?> configType, Optional<String> namespace, Map<String, String> configSource,
+            ValueInterner interner) {
+        this.configType = Objects.requireNonNull(configType);
+        this.namespace = Objects.requireNonNull(namespace);
+        this.configSource = Objects.requireNonNull(configSource);
+        this.interner = interner;
+    }
+
+    /**
+     * Returns the env var name for a (split) method name, within the namespace.
+     */
+    public String envVarName(String suffix) {
+        return namespace.map(p -> p + SEPARATOR + suffix).orElse(suffix).toUpperCase();
+    }
+
+    /**
+     * Returns the parsed value, or the default value for the target type if it couldn't be parsed -
+     * in which case the error is reported by {@link #complete()}. A new instance of each custom
+     * parser is created for the value.
+     */
+    @SafeVarargs
+    public final Object resolve(String methodName, String envVarName, String defaultValue, Type targetType,
+            Class<? extends ValueParser<?>>... customParsers) {
+
+        // names are resolved by the generated code, so they're not timed
+        try {
+            return ValueResolver.resolve(configType, namespace, methodName, targetType, envVarName, 0,
+                    name -> ValueResolver.valueOrDefault(configSource.get(name), defaultValue),
+                    value -> CustomParsers.converter(customParsers).convert(targetType, value),
+                    customParsers.length == 0 ? interner : null);
+        } catch (EnvConfigException e) {
+            errors.add(format("%s() - %s", methodName, e.getMessage()));
+        }
+
+        return defaultValue(targetType);
+    }
+
+    /**
+     * Returns the description of the config, as returned by {@code toString()}.
+     */
+    public String describe(Class<?> configType) {
+        return DefaultInvocationHandler.describe(configType, namespace);
+    }
+
+    /**
+     * Throws if any value failed to resolve, otherwise records the creation of the config.
+     */
+    public void complete() {
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Failed to parse config with errors: " + errors);
+        }
+        ConfigEvents.endCreation(event, namespace, configType);
+    }
+
+    public static ParameterizedType parameterizedType(Class<?> rawType, Type... typeArguments) {
+        return new SimpleParameterizedType(rawType, typeArguments);
+    }
+
+    private static Object defaultValue(Type targetType) {
+
+        if (targetType == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (targetType == char.class) {
+            return Character.valueOf((char) 0);
+        }
+        if (targetType == byte.class) {
+            return Byte.valueOf((byte) 0);
+        }
+        if (targetType == short.class) {
+            return Short.valueOf((short) 0);
+        }
+        if (targetType == int.class) {
+            return Integer.valueOf(0);
+        }
+        if (targetType == long.class) {
+            return Long.valueOf(0L);
+        }
+        if (targetType == float.class) {
+            return Float.valueOf(0F);
+        }
+        if (targetType == double.class) {
+            return Double.valueOf(0D);
+        }
+        return null;
+    }
+
+    /**
+     * A parameterized type that's equal to the equivalent type obtained through reflection.
+     */
+    private static final class SimpleParameterizedType implements ParameterizedType {
+
+        private final Class<?> rawType;
+        private final Type[] typeArguments;
+
+        SimpleParameterizedType(Class<?> rawType, Type[] typeArguments) {
+            this.rawType = Objects.requireNonNull(rawType);
+            this.typeArguments = typeArguments.clone();
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return typeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return rawType.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+
+            final ParameterizedType other = (ParameterizedType) o;
+            return rawType.equals(other.getRawType())
+                    && Objects.equals(getOwnerType(), other.getOwnerType())
+                    && Arrays.equals(typeArguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(typeArguments) ^ Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+
+            final StringBuilder builder = new StringBuilder(rawType.getTypeName()).append('<');
+            for (int i=0; i<typeArguments.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(typeArguments[i].getTypeName());
+            }
+            return builder.append('>').toString();
+        }
+    }
+
+}
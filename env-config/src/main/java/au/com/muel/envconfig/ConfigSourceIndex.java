@@ -0,0 +1,80 @@
+package au.com.muel.envconfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A sorted index of the keys of a config source, so that the keys under a namespace can be listed
+ * without scanning every key. The index is a snapshot, so it should be built once and reused while
+ * the source's keys don't change.
+ */
+public final class ConfigSourceIndex {
+
+    private final String[] keys;
+
+    private ConfigSourceIndex(String[] keys) {
+        this.keys = keys;
+    }
+
+    public static ConfigSourceIndex of(Map<String, String> configSource) {
+
+        final String[] keys = configSource.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        return new ConfigSourceIndex(keys);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the keys starting with the prefix, in sorted order.
+     */
+    public List<String> keysWithPrefix(String prefix) {
+
+        int from = Arrays.binarySearch(keys, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+
+        int to = from;
+        while (to < keys.length && keys[to].startsWith(prefix)) {
+            to++;
+        }
+        return Collections.unmodifiableList(Arrays.asList(keys).subList(from, to));
+    }
+
+    /**
+     * Returns the keys in the namespace, ie the keys that a config of that namespace may read.
+     */
+    public List<String> keysUnder(String namespace) {
+        return keysWithPrefix(namespace.toUpperCase() + '_');
+    }
+
+    /**
+     * Returns the keys in the namespace that none of the config types read, eg to warn about
+     * misspelt or obsolete variables.
+     */
+    public List<String> unusedUnder(String namespace, Class<?>... configTypes) {
+
+        final Set<String> used = new HashSet<>();
+        for (Class<?> configType : configTypes) {
+            used.addAll(ConfigPlan.forType(configType).envVarNames(Optional.of(namespace)));
+        }
+
+        final List<String> unused = new ArrayList<>();
+        for (String key : keysUnder(namespace)) {
+            if (!used.contains(key)) {
+                unused.add(key);
+            }
+        }
+        return Collections.unmodifiableList(unused);
+    }
+
+}
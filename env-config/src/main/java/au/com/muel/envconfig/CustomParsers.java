@@ -0,0 +1,110 @@
+package au.com.muel.envconfig;
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+
+/**
+ * The constructor and parsed type of each custom parser class, found once rather than every time a
+ * method using the parser is resolved.
+ */
+final class CustomParsers {
+
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> parserClass) {
+
+            try {
+
+                final Constructor<?> noArgsConstructor = parserClass.getDeclaredConstructor();
+                noArgsConstructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(noArgsConstructor)
+                        .asType(MethodType.methodType(ValueParser.class));
+            } catch (NoSuchMethodException e) {
+
+                final String msg = format("Custom ValueParser is missing a no-args construction: %s", parserClass);
+                throw new EnvConfigException(msg);
+            } catch (IllegalAccessException | RuntimeException e) {
+
+                throw new EnvConfigException(notInstantiated(parserClass, e));
+            }
+        }
+    };
+
+    private static final ClassValue<Type> PARSED_TYPES = new ClassValue<>() {
+        @Override
+        protected Type computeValue(Class<?> parserClass) {
+
+            try {
+
+                return parserClass.getMethod("parse", String.class, TypeConverter.class, Type[].class)
+                        .getGenericReturnType();
+            } catch (NoSuchMethodException | SecurityException e) {
+
+                throw new EnvConfigException("Failed to find return-type of custom ValueParser: " + parserClass);
+            }
+        }
+    };
+
+    // converts with only the default parsers, for methods without custom parsers
+    private static final TypeConverter DEFAULT_CONVERTER = new DefaultTypeConverter(DefaultParserRegistry.sharedDefaults());
+
+    private CustomParsers() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates an instance of the parser class with its no-args constructor, which may be private.
+     */
+    static ValueParser<?> newInstance(Class<? extends ValueParser<?>> parserClass) {
+
+        final MethodHandle constructor = CONSTRUCTORS.get(parserClass);
+        try {
+
+            return (ValueParser<?>) constructor.invokeExact();
+        } catch (RuntimeException e) {
+
+            throw new EnvConfigException(notInstantiated(parserClass, e));
+        } catch (Error e) {
+
+            throw e;
+        } catch (Throwable e) {
+
+            throw new EnvConfigException(notInstantiated(parserClass, e));
+        }
+    }
+
+    /**
+     * Returns a converter that uses a new instance of each of the parser classes, in precedence over
+     * the default parsers. Parsers needn't be thread safe, so a converter with custom parsers is
+     * only used for a single resolution, while the one with none is shared.
+     */
+    static TypeConverter converter(Class<? extends ValueParser<?>>[] parserClasses) {
+
+        if (parserClasses.length == 0) {
+            return DEFAULT_CONVERTER;
+        }
+
+        final ParserRegistry registry = DefaultParserRegistry.withSharedDefaults();
+        for (Class<? extends ValueParser<?>> parserClass : parserClasses) {
+            registry.registerCustomParsers(newInstance(parserClass));
+        }
+        return new DefaultTypeConverter(registry);
+    }
+
+    /**
+     * Returns the type that instances of the parser class parse values to.
+     */
+    static Type parsedType(Class<?> parserClass) {
+        return PARSED_TYPES.get(parserClass);
+    }
+
+    private static String notInstantiated(Class<?> parserClass, Throwable e) {
+        return format("Custom ValueParser could not be instantiated: %s (%s)", parserClass, e);
+    }
+
+}
@@ -0,0 +1,361 @@
+package au.com.muel.envconfig;
+
+import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+public class DefaultInvocationHandler implements InvocationHandler {
+
+    private static final EnvVar DEFAULT_VALUES = annotationDefaults();
+
+    private final char separator = '_';
+
+    private final Optional<String> prefix;
+    private final Class<?> configType;
+    private final Map<String, String> configSource;
+    private final DispatchTable dispatchTable;
+    private final AtomicReferenceArray<Object> cachedResults;
+    private final List<String> envVarNames;
+    private final ValueInterner interner;
+    private final LongAdder[] accessCounts;
+    private final boolean defaultParsing;
+    private volatile boolean validated;
+
+    protected DefaultInvocationHandler(Optional<String> prefix, Class<?> configType, Map<String, String> configSource) {
+        this(prefix, configType, configSource, null);
+    }
+
+    /**
+     * Creates a handler that uses the already resolved variable names, indexed by slot, rather than
+     * resolving them from method names on every access.
+     */
+    DefaultInvocationHandler(Optional<String> prefix, Class<?> configType, Map<String, String> configSource,
+            List<String> envVarNames) {
+        this(prefix, configType, configSource, envVarNames, null, false);
+    }
+
+    /**
+     * Creates a handler that also shares values with other configs through the interner, if there
+     * is one, and that counts accesses of each method if it's profiled.
+     */
+    DefaultInvocationHandler(Optional<String> prefix, Class<?> configType, Map<String, String> configSource,
+            List<String> envVarNames, ValueInterner interner, boolean profiled) {
+        this.prefix = Objects.requireNonNull(prefix);
+        this.configType = Objects.requireNonNull(configType);
+        this.configSource = Objects.requireNonNull(configSource);
+        this.dispatchTable = DispatchTable.forType(configType);
+        this.cachedResults = new AtomicReferenceArray<>(dispatchTable.size());
+        this.envVarNames = envVarNames;
+        this.interner = interner;
+        this.accessCounts = profiled ? AccessReport.counters(configType) : null;
+        // a subclass may customise parsing through the protected methods, so it creates its own
+        this.defaultParsing = getClass() == DefaultInvocationHandler.class;
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        final int slot = dispatchTable.slotOf(method);
+        if (slot >= 0) {
+
+            if (accessCounts != null) {
+                accessCounts[slot].increment();
+            }
+
+            final Object result = cachedResults.get(slot);
+            if (result != null && !(result instanceof InFlight)) {
+                return result;
+            }
+            return resolve(slot);
+        }
+
+        if (Object.class.equals(method.getDeclaringClass())) {
+
+            if ("equals".equals(method.getName())) {
+                return proxy == args[0];
+            }
+
+            if ("hashCode".equals(method.getName())) {
+                return System.identityHashCode(proxy);
+            }
+
+            if ("toString".equals(method.getName())) {
+                return describe(configType, prefix);
+            }
+        }
+
+        throw new UnsupportedOperationException("Unsupported method invoked: " + method);
+    }
+
+    /**
+     * Resolves the slot's value at most once, with concurrent callers waiting on the in-flight
+     * resolution. A failed resolution is removed so that it's retried on the next call.
+     */
+    private Object resolve(int slot) throws Throwable {
+
+        while (true) {
+
+            final Object current = cachedResults.get(slot);
+            if (current instanceof InFlight) {
+                return ((InFlight) current).await();
+            }
+            if (current != null) {
+                return current;
+            }
+
+            final Method configMethod = dispatchTable.method(slot);
+            final InFlight resolution = new InFlight(() -> {
+                validateMethod(configMethod);
+                return invokeConfigInterfaceMethod(slot);
+            }, configMethod);
+
+            if (cachedResults.compareAndSet(slot, null, resolution)) {
+
+                resolution.run();
+                try {
+
+                    final Object resolved = resolution.await();
+                    cachedResults.set(slot, resolved);
+                    return resolved;
+                } catch (Throwable e) {
+                    cachedResults.set(slot, null);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // TODO consider moving out of this class and into EnvConfig
+    static void validateMethod(Method method) {
+
+        if (method.getParameterCount() > 0) {
+            throw new IllegalArgumentException("Methods with arguments are not allowed: " + method);
+        }
+
+        if (method.isDefault()) {
+            // There's no nice interoperable way to handle default methods across different Java
+            // versions, so it's easiest to just prevent usage.
+            // https://blog.jooq.org/2018/03/28/correct-reflective-access-to-interface-default-methods-in-java-8-9-10/
+            final String msg = "Default methods are not supported, found: " + method;
+            throw new UnsupportedOperationException(msg);
+        }
+
+        final Type returnType = method.getGenericReturnType();
+        if (returnType instanceof TypeVariable<?>) {
+            throw new IllegalArgumentException("Type variable return types are not allowed: " + method);
+        }
+
+        if (returnType instanceof WildcardType) {
+            throw new IllegalArgumentException("Wildcard return types are not allowed: " + method);
+        }
+
+        if (returnType instanceof GenericArrayType) {
+            throw new IllegalArgumentException("Generic array return types are not allowed: " + method);
+        }
+    }
+
+    /**
+     * Whether every config method has been resolved without error.
+     */
+    boolean isValidated() {
+        return validated;
+    }
+
+    void markValidated() {
+        validated = true;
+    }
+
+    /**
+     * Returns the slot's value, resolving it if it hasn't been, without counting an access.
+     */
+    Object valueOf(int slot) throws Throwable {
+        final Object result = cachedResults.get(slot);
+        return result != null && !(result instanceof InFlight) ? result : resolve(slot);
+    }
+
+    /**
+     * Returns the slot's value if it has been resolved, otherwise null.
+     */
+    Object resolvedValue(int slot) {
+        final Object result = cachedResults.get(slot);
+        return result instanceof InFlight ? null : result;
+    }
+
+    /**
+     * Returns the value of every slot, once the handler is validated.
+     */
+    Object[] resolvedValues() {
+
+        final Object[] values = new Object[cachedResults.length()];
+        for (int i=0; i<values.length; i++) {
+            values[i] = resolvedValue(i);
+        }
+        return values;
+    }
+
+    /**
+     * Sets the slot's value so that it isn't resolved, eg when reusing a value that hasn't changed.
+     */
+    void preset(int slot, Object value) {
+        cachedResults.set(slot, Objects.requireNonNull(value));
+    }
+
+    Optional<String> namespace() {
+        return prefix;
+    }
+
+    String describe() {
+        return describe(configType, prefix);
+    }
+
+    /**
+     * Returns the description of a config, as returned by {@code toString()}.
+     */
+    static String describe(Class<?> configType, Optional<String> namespace) {
+        return format("%s<Proxy:%s>", configType.getSimpleName(), namespace);
+    }
+
+    /**
+     * Returns the methods of the interface inheritance hierarchy, so that all methods may be proxied.
+     */
+    List<Method> configMethods() {
+        return dispatchTable.methods();
+    }
+
+    /**
+     * Returns the name of the environment variable read by each config method, indexed by slot.
+     */
+    List<String> envVarNames() {
+
+        final List<String> envVarNames = new ArrayList<>(dispatchTable.size());
+        for (Method method : dispatchTable.methods()) {
+            final EnvVar envVarConfig = resolveEnvVarConfig(DEFAULT_VALUES, method.getAnnotation(EnvVar.class));
+            envVarNames.add(resolveEnvVarName(prefix, method.getName(), envVarConfig));
+        }
+        return List.copyOf(envVarNames);
+    }
+
+    private final Object invokeConfigInterfaceMethod(int slot) {
+
+        // nothing's timed without a listener
+        final ConfigMetricsListener listener = EnvConfig.metricsListener();
+        final long start = listener == null ? 0 : System.nanoTime();
+
+        final Method method = dispatchTable.method(slot);
+        final EnvVar envVarConfig = resolveEnvVarConfig(DEFAULT_VALUES, method.getAnnotation(EnvVar.class));
+
+        final String envVarName = envVarNames != null
+                ? envVarNames.get(slot)
+                : resolveEnvVarName(prefix, method.getName(), envVarConfig);
+
+        final long named = listener == null ? 0 : System.nanoTime();
+
+        // values parsed by custom parsers may not be immutable, so they're never shared
+        final Type targetType = method.getGenericReturnType();
+        return ValueResolver.resolve(configType, prefix, method.getName(), targetType, envVarName, named - start,
+                name -> resolveEnvVarValue(envVarConfig, name, configSource),
+                value -> parse(envVarConfig, targetType, value),
+                envVarConfig.customParsers().length == 0 ? interner : null);
+    }
+
+    private Object parse(EnvVar envVarConfig, Type targetType, String envVarValue) {
+
+        if (defaultParsing) {
+            return CustomParsers.converter(envVarConfig.customParsers()).convert(targetType, envVarValue);
+        }
+
+        final ParserRegistry parserRegistry = createParserRegistry();
+        final TypeConverter converter = createTypeConverter(parserRegistry);
+        return parseEnvVarValue(envVarConfig, parserRegistry, converter, targetType, envVarValue);
+    }
+
+    protected ParserRegistry createParserRegistry() {
+        return DefaultParserRegistry.withSharedDefaults();
+    }
+
+    protected TypeConverter createTypeConverter(ParserRegistry parserRegistry) {
+        return new DefaultTypeConverter(parserRegistry);
+    }
+
+    protected EnvVar resolveEnvVarConfig(EnvVar defaultConfig, EnvVar userDefinedConfig) {
+        return userDefinedConfig == null ? defaultConfig : userDefinedConfig;
+    }
+
+    protected String resolveEnvVarName(Optional<String> prefix, String methodName, EnvVar config) {
+
+        if (!config.envVarName().isEmpty()) {
+            return config.envVarName();
+        }
+
+        final String suffix;
+        if (config.splitWords()) {
+
+            final Matcher matcher = Pattern.compile("([a-z][A-Z])").matcher(methodName);
+            final StringBuilder builder = new StringBuilder(methodName.length() + 8);
+            int start = 0;
+            while (matcher.find()) {
+
+                final int middle = matcher.start()+1;
+                builder.append(methodName.substring(start, middle));
+                builder.append(separator);
+                builder.append(methodName.substring(middle, matcher.end()));
+                start = matcher.end();
+            }
+
+            suffix = builder.append(methodName.substring(start)).toString();
+        } else {
+            suffix = methodName;
+        }
+
+        return prefix.map(p -> p + separator + suffix).orElse(suffix).toUpperCase();
+    }
+
+    protected String resolveEnvVarValue(EnvVar config, String envVarName, Map<String, String> configSource) {
+
+        final String envVarValue = ofNullable(configSource.get(envVarName)).orElse("");
+        if (envVarValue.isEmpty() && !config.defaultValue().isEmpty()) {
+            return config.defaultValue();
+        }
+
+        return envVarValue;
+    }
+
+    protected Object parseEnvVarValue(EnvVar config, ParserRegistry registry, TypeConverter typeConverter,
+            Type targetType, String envVarValue) {
+
+        for (Class<? extends ValueParser<?>> valueParserClass : config.customParsers()) {
+            registry.registerCustomParsers(CustomParsers.newInstance(valueParserClass));
+        }
+
+        return typeConverter.convert(targetType, envVarValue);
+    }
+
+    @EnvVar
+    static final EnvVar annotationDefaults() {
+
+        try {
+
+            Method thisMethod = DefaultInvocationHandler.class.getDeclaredMethod("annotationDefaults");
+            return thisMethod.getAnnotation(EnvVar.class);
+        } catch (NoSuchMethodException | SecurityException e) {
+
+            throw new IllegalStateException("Can't retrieve EnvVar from annotationDefaults()", e);
+        }
+    }
+
+}
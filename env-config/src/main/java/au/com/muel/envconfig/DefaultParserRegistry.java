@@ -0,0 +1,335 @@
+package au.com.muel.envconfig;
+
+import static au.com.muel.envconfig.ParserUtils.fromFunction;
+import static au.com.muel.envconfig.ParserUtils.genericTypeParser;
+import static au.com.muel.envconfig.ParserUtils.split;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+final class DefaultParserRegistry implements ParserRegistry {
+
+    private static final Map<Type, Type> WRAPPER_TO_PRIMITIVES;
+
+    static {
+
+        final Map<Type, Type> wrapperToPrimitives = new HashMap<>();
+        wrapperToPrimitives.put(Boolean.class,   boolean.class);
+        wrapperToPrimitives.put(Character.class, char.class);
+        wrapperToPrimitives.put(Byte.class,      byte.class);
+        wrapperToPrimitives.put(Short.class,     short.class);
+        wrapperToPrimitives.put(Integer.class,   int.class);
+        wrapperToPrimitives.put(Long.class,      long.class);
+        wrapperToPrimitives.put(Float.class,     float.class);
+        wrapperToPrimitives.put(Double.class,    double.class);
+        WRAPPER_TO_PRIMITIVES = Collections.unmodifiableMap(wrapperToPrimitives);
+
+    }
+
+    // the generic parsers are shared by every registry, so that DefaultTypeConverter can recognise
+    // them and compile the types that use them
+    static final ValueParser<Optional<Object>> OPTIONAL_PARSER = (s, c, types) -> {
+
+        if (s == null || s.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Object value = c.convert(types[0], s);
+        return Optional.of(value);
+    };
+
+    static final ValueParser<Set<Object>> SET_PARSER = genericTypeParser(toSet(), Collections::unmodifiableSet);
+
+    // a bit cheeky but convenient - a candidate for future rework
+    static final ValueParser<List<Object>> LIST_PARSER = genericTypeParser(toList(), Collections::unmodifiableList);
+
+    static final ValueParser<Object> ARRAY_PARSER = (s, c, types) -> {
+
+        final Object primitiveArray = primitiveArray(s, ',', c, (Class<?>) types[0]);
+        if (primitiveArray != null) {
+            return primitiveArray;
+        }
+
+        final List<Object> values = LIST_PARSER.parse(s, c, types);
+        final Object array = Array.newInstance((Class<?>) types[0], values.size());
+        for (int i=0; i<values.size(); i++) {
+            Array.set(array, i, values.get(i));
+        }
+
+        return array;
+    };
+
+    static final ValueParser<Map<Object, Object>> MAP_PARSER = (s, c, types) -> {
+
+        final Map<Object, Object> map = new HashMap<>();
+        for (String entry : split(s, ',')) {
+
+            final int keyEnd = entry.indexOf(':');
+            if (keyEnd < 0) {
+                throw new IllegalArgumentException("Invalid map entry, expected key:value but got \"" + entry + "\"");
+            }
+
+            final int valueEnd = entry.indexOf(':', keyEnd + 1);
+            final Object key = c.convert(types[0], entry.substring(0, keyEnd));
+            final Object value = c.convert(types[1], entry.substring(keyEnd + 1, valueEnd < 0 ? entry.length() : valueEnd));
+            if (map.putIfAbsent(key, value) != null) {
+                throw new IllegalStateException("Duplicate key " + key);
+            }
+        }
+
+        return unmodifiableMap(map);
+    };
+
+    private static final DefaultParserRegistry SHARED_DEFAULTS;
+
+    static {
+
+        final DefaultParserRegistry sharedDefaults = new DefaultParserRegistry();
+        sharedDefaults.frozen = true;
+        SHARED_DEFAULTS = sharedDefaults;
+    }
+
+    private final DefaultParserRegistry defaults;
+    private Map<Type, ValueParser<?>> parsers;
+    private boolean frozen;
+
+    DefaultParserRegistry() {
+        this.defaults = null;
+        this.parsers = new HashMap<>(64);
+        registerDefaultTypes();
+    }
+
+    private DefaultParserRegistry(DefaultParserRegistry defaults) {
+        this.defaults = defaults;
+    }
+
+    /**
+     * Returns the registry of default parsers, which is shared and so can't have custom parsers
+     * registered to it.
+     */
+    static DefaultParserRegistry sharedDefaults() {
+        return SHARED_DEFAULTS;
+    }
+
+    /**
+     * Returns a registry layered over the shared default parsers. Custom parsers registered to it
+     * take precedence over, but don't modify, the default parsers.
+     */
+    static DefaultParserRegistry withSharedDefaults() {
+        return new DefaultParserRegistry(SHARED_DEFAULTS);
+    }
+
+    private final void registerParser(Type type, ValueParser<?> parser) {
+
+        if (frozen) {
+            throw new UnsupportedOperationException("The shared default parsers can't be modified");
+        }
+
+        if (this.parsers == null) {
+            this.parsers = new HashMap<>(4);
+        }
+
+        this.parsers.put(type, parser);
+
+        final Type primitiveType = WRAPPER_TO_PRIMITIVES.get(type);
+        if (primitiveType != null) {
+            this.parsers.put(primitiveType, parser);
+        }
+    }
+
+    private final void registerDefaultTypes() {
+        registerCommonTypes();
+        registerGenericTypesAndArray();
+        registerEnumAndMiscTypes();
+        registerJavaTimeTypes();
+    }
+
+    private final void registerCommonTypes() {
+
+        // special parsing for boolean so that we can distinguish between a false value and an
+        // invalid value
+        registerParser(Boolean.class, (ValueParser.OfBoolean) s -> {
+            if (Boolean.parseBoolean(s)) {
+                return true;
+            }
+            if ("false".equalsIgnoreCase(s)) {
+                return false;
+            }
+            throw new EnvConfigException("Invalid boolean, got \"" + s + "\"");
+        });
+
+        // integer types
+        registerParser(Byte.class,       fromFunction(Byte::parseByte));
+        registerParser(Short.class,      fromFunction(Short::parseShort));
+        registerParser(Integer.class,    (ValueParser.OfInt) Integer::parseInt);
+        registerParser(Long.class,       (ValueParser.OfLong) Long::parseLong);
+        registerParser(BigInteger.class, fromFunction(BigInteger::new));
+
+        // floating point types
+        registerParser(Float.class,      fromFunction(Float::parseFloat));
+        registerParser(Double.class,     (ValueParser.OfDouble) Double::parseDouble);
+        registerParser(BigDecimal.class, fromFunction(BigDecimal::new));
+
+        // string
+        registerParser(String.class, fromFunction(s -> {
+            if (s.isEmpty()) {
+                throw new IllegalArgumentException("Missing value, got: \"\"");
+            }
+            return s;
+        }));
+    }
+
+    private final void registerGenericTypesAndArray() {
+
+        registerParser(Optional.class, OPTIONAL_PARSER);
+        registerParser(Set.class, SET_PARSER);
+        registerParser(List.class, LIST_PARSER);
+        registerParser(Array.class, ARRAY_PARSER);
+        registerParser(Map.class, MAP_PARSER);
+    }
+
+    /**
+     * Parses an array of ints, longs, doubles or booleans without boxing the elements, or returns
+     * null for other component types.
+     */
+    static Object primitiveArray(String value, char delimiter, TypeConverter converter, Class<?> componentType) {
+
+        if (componentType == int.class) {
+            final List<String> tokens = split(value, delimiter);
+            final int[] array = new int[tokens.size()];
+            for (int i=0; i<array.length; i++) {
+                array[i] = converter.convertInt(tokens.get(i));
+            }
+            return array;
+        }
+
+        if (componentType == long.class) {
+            final List<String> tokens = split(value, delimiter);
+            final long[] array = new long[tokens.size()];
+            for (int i=0; i<array.length; i++) {
+                array[i] = converter.convertLong(tokens.get(i));
+            }
+            return array;
+        }
+
+        if (componentType == double.class) {
+            final List<String> tokens = split(value, delimiter);
+            final double[] array = new double[tokens.size()];
+            for (int i=0; i<array.length; i++) {
+                array[i] = converter.convertDouble(tokens.get(i));
+            }
+            return array;
+        }
+
+        if (componentType == boolean.class) {
+            final List<String> tokens = split(value, delimiter);
+            final boolean[] array = new boolean[tokens.size()];
+            for (int i=0; i<array.length; i++) {
+                array[i] = converter.convertBoolean(tokens.get(i));
+            }
+            return array;
+        }
+
+        return null;
+    }
+
+    private final void registerEnumAndMiscTypes() {
+
+        registerParser(Enum.class, (s, c, types) -> {
+
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            final Enum<?> e = Enum.valueOf((Class<? extends Enum>) types[0], s);
+            return e;
+        });
+
+        registerParser(URL.class, fromFunction(s -> {
+            try {
+                return new URL(s);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e.getMessage());
+            }
+        }));
+
+        registerParser(URI.class, fromFunction(URI::create));
+    }
+
+    private final void registerJavaTimeTypes() {
+
+        registerParser(Duration.class,       fromFunction(Duration::parse));
+        registerParser(Period.class,         fromFunction(Period::parse));
+        registerParser(Instant.class,        fromFunction(Instant::parse));
+        registerParser(LocalTime.class,      fromFunction(LocalTime::parse));
+        registerParser(LocalDate.class,      fromFunction(LocalDate::parse));
+        registerParser(LocalDateTime.class,  fromFunction(LocalDateTime::parse));
+        registerParser(ZonedDateTime.class,  fromFunction(ZonedDateTime::parse));
+        registerParser(OffsetTime.class,     fromFunction(OffsetTime::parse));
+        registerParser(OffsetDateTime.class, fromFunction(OffsetDateTime::parse));
+        registerParser(ZoneId.class,         fromFunction(ZoneId::of));
+        registerParser(ZoneOffset.class,     fromFunction(ZoneOffset::of));
+        registerParser(MonthDay.class,       fromFunction(MonthDay::parse));
+        registerParser(Year.class,           fromFunction(Year::parse));
+        registerParser(YearMonth.class,      fromFunction(YearMonth::parse));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerCustomParsers(ValueParser<?>... parsers) {
+
+        for (final ValueParser<?> parser : parsers) {
+            registerParser(CustomParsers.parsedType(parser.getClass()), parser);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ValueParser<?>> parserForType(Type type) {
+
+        ValueParser<?> parser = parsers == null ? null : parsers.get(type);
+        if (parser == null && defaults != null) {
+            parser = defaults.parsers.get(type);
+        }
+
+        return Optional.ofNullable(parser);
+    }
+
+    /**
+     * Whether the parsers are exactly the shared default parsers, ie this is the shared registry or
+     * an overlay without custom parsers.
+     */
+    boolean hasOnlySharedDefaults() {
+        return this == SHARED_DEFAULTS || (defaults == SHARED_DEFAULTS && parsers == null);
+    }
+
+}
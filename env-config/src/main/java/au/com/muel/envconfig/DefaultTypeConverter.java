@@ -0,0 +1,292 @@
+package au.com.muel.envconfig;
+
+import static au.com.muel.envconfig.ParserUtils.split;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+class DefaultTypeConverter implements TypeConverter {
+
+    // the delimiters between elements, and between map keys and values, of a collection that's the
+    // type of a method and of one nested in it
+    private static final char[] ELEMENT_DELIMITERS = {',', ';'};
+    private static final char[] KEY_VALUE_DELIMITERS = {':', '='};
+
+    // compiles the conversions for every converter without custom parsers
+    private static final DefaultTypeConverter SHARED = new DefaultTypeConverter(DefaultParserRegistry.sharedDefaults());
+
+    // the shared conversions, held by a class of each type so they don't keep its class loader reachable
+    private static final ClassValue<ConcurrentMap<Type, Conversion>> SHARED_CONVERSIONS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Type, Conversion> computeValue(Class<?> owner) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private final ParserRegistry parserRegistry;
+    private final ConcurrentMap<Type, Conversion> conversions = new ConcurrentHashMap<>();
+
+    DefaultTypeConverter(ParserRegistry parserRegistry) {
+        this.parserRegistry = Objects.requireNonNull(parserRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object convert(Type targetType, String value) {
+        return conversion(targetType).convert(value);
+    }
+
+    /**
+     * Returns the conversion to the type, compiling it the first time the type is converted.
+     */
+    private Conversion conversion(Type targetType) {
+
+        if (this == SHARED || parserRegistry instanceof DefaultParserRegistry
+                && ((DefaultParserRegistry) parserRegistry).hasOnlySharedDefaults()) {
+            return SHARED.conversion(targetType, SHARED_CONVERSIONS.get(ownerOf(targetType)));
+        }
+
+        return conversion(targetType, conversions);
+    }
+
+    private Conversion conversion(Type targetType, ConcurrentMap<Type, Conversion> conversions) {
+
+        final Conversion conversion = conversions.get(targetType);
+        if (conversion != null) {
+            return conversion;
+        }
+
+        // not computeIfAbsent, since compiling may convert, eg with a custom parser
+        final Conversion compiled = compile(targetType, 0);
+        final Conversion existing = conversions.putIfAbsent(targetType, compiled);
+        return existing == null ? compiled : existing;
+    }
+
+    /**
+     * Returns the class that holds the shared conversion to the type, which is one of the type's
+     * classes that isn't a core class (eg the enum of a {@code List<MyEnum>}), otherwise its raw class.
+     */
+    private static Class<?> ownerOf(Type type) {
+
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+
+        if (type instanceof ParameterizedType) {
+
+            final ParameterizedType paramType = (ParameterizedType) type;
+            for (Type typeArg : paramType.getActualTypeArguments()) {
+                final Class<?> owner = ownerOf(typeArg);
+                if (owner.getClassLoader() != null) {
+                    return owner;
+                }
+            }
+            return ownerOf(paramType.getRawType());
+        }
+
+        return Object.class;
+    }
+
+    /**
+     * Compiles the conversion to the type, finding its parser and compiling the conversions of its
+     * elements, if any, up front. The built-in collection parsers are replaced by conversions that
+     * call the element conversions directly, and which use the nested delimiters when the
+     * collection is an element of another.
+     */
+    private Conversion compile(Type targetType, int depth) {
+
+        if (targetType instanceof Class<?>) {
+
+            final Class<?> clazz = ((Class<?>) targetType);
+            if (clazz.isArray()) {
+
+                final ValueParser<?> parser = parserType(Array.class);
+                return parser == DefaultParserRegistry.ARRAY_PARSER
+                        ? compileArray(clazz.getComponentType(), depth)
+                        : bind(parser, clazz.getComponentType());
+            }
+
+            if (clazz.isEnum()) {
+
+                return bind(parserType(Enum.class), clazz);
+            }
+
+            final ValueParser<?> parser = parserType(targetType);
+            return value -> parser.parse(value, this);
+        }
+
+        if (targetType instanceof ParameterizedType) {
+
+            ParameterizedType paramType = (ParameterizedType) targetType;
+            final Type[] typeArgs = paramType.getActualTypeArguments();
+            final ValueParser<?> parser = parserType(paramType.getRawType());
+
+            if (parser == DefaultParserRegistry.OPTIONAL_PARSER) {
+
+                final Conversion element = compile(typeArgs[0], depth);
+                return value -> value == null || value.isEmpty() ? Optional.empty() : Optional.of(element.convert(value));
+            }
+
+            if (parser == DefaultParserRegistry.LIST_PARSER) {
+
+                final char delimiter = elementDelimiter(depth);
+                final Conversion element = compile(typeArgs[0], depth + 1);
+                return value -> {
+
+                    final List<String> tokens = split(value, delimiter);
+                    final List<Object> list = new ArrayList<>(tokens.size());
+                    for (String token : tokens) {
+                        list.add(element.convert(token));
+                    }
+                    return unmodifiableList(list);
+                };
+            }
+
+            if (parser == DefaultParserRegistry.SET_PARSER) {
+
+                final char delimiter = elementDelimiter(depth);
+                final Conversion element = compile(typeArgs[0], depth + 1);
+                return value -> {
+
+                    final Set<Object> set = new HashSet<>();
+                    for (String token : split(value, delimiter)) {
+                        set.add(element.convert(token));
+                    }
+                    return unmodifiableSet(set);
+                };
+            }
+
+            if (parser == DefaultParserRegistry.MAP_PARSER) {
+
+                return compileMap(typeArgs[0], typeArgs[1], depth);
+            }
+
+            return bind(parser, typeArgs);
+        }
+
+        throw new UnsupportedOperationException("Unsupported type: " + targetType);
+    }
+
+    private Conversion compileArray(Class<?> componentType, int depth) {
+
+        final char delimiter = elementDelimiter(depth);
+        if (componentType == int.class || componentType == long.class || componentType == double.class
+                || componentType == boolean.class) {
+            return value -> DefaultParserRegistry.primitiveArray(value, delimiter, this, componentType);
+        }
+
+        final Conversion element = compile(componentType, depth + 1);
+        return value -> {
+
+            final List<String> tokens = split(value, delimiter);
+            final Object array = Array.newInstance(componentType, tokens.size());
+            for (int i=0; i<tokens.size(); i++) {
+                Array.set(array, i, element.convert(tokens.get(i)));
+            }
+            return array;
+        };
+    }
+
+    private Conversion compileMap(Type keyType, Type valueType, int depth) {
+
+        final char delimiter = elementDelimiter(depth);
+        final char keyValueDelimiter = KEY_VALUE_DELIMITERS[depth];
+        final Conversion keyConversion = compile(keyType, depth + 1);
+        final Conversion valueConversion = compile(valueType, depth + 1);
+        return value -> {
+
+            final Map<Object, Object> map = new HashMap<>();
+            for (String entry : split(value, delimiter)) {
+
+                final int keyEnd = entry.indexOf(keyValueDelimiter);
+                if (keyEnd < 0) {
+                    throw new IllegalArgumentException("Invalid map entry, expected key" + keyValueDelimiter
+                            + "value but got \"" + entry + "\"");
+                }
+
+                final int valueEnd = entry.indexOf(keyValueDelimiter, keyEnd + 1);
+                final Object key = keyConversion.convert(entry.substring(0, keyEnd));
+                final Object mapValue = valueConversion.convert(entry.substring(keyEnd + 1, valueEnd < 0 ? entry.length() : valueEnd));
+                if (map.putIfAbsent(key, mapValue) != null) {
+                    throw new IllegalStateException("Duplicate key " + key);
+                }
+            }
+            return unmodifiableMap(map);
+        };
+    }
+
+    private Conversion bind(ValueParser<?> parser, Type... typeArgs) {
+        return value -> parser.parse(value, this, typeArgs);
+    }
+
+    private static char elementDelimiter(int depth) {
+
+        if (depth >= ELEMENT_DELIMITERS.length) {
+            throw new UnsupportedOperationException("Collections can't be nested more than two deep");
+        }
+        return ELEMENT_DELIMITERS[depth];
+    }
+
+    @Override
+    public int convertInt(String value) {
+        final ValueParser<?> parser = parserType(int.class);
+        return parser instanceof ValueParser.OfInt
+                ? ((ValueParser.OfInt) parser).parseInt(value)
+                : (Integer) parser.parse(value, this);
+    }
+
+    @Override
+    public long convertLong(String value) {
+        final ValueParser<?> parser = parserType(long.class);
+        return parser instanceof ValueParser.OfLong
+                ? ((ValueParser.OfLong) parser).parseLong(value)
+                : (Long) parser.parse(value, this);
+    }
+
+    @Override
+    public double convertDouble(String value) {
+        final ValueParser<?> parser = parserType(double.class);
+        return parser instanceof ValueParser.OfDouble
+                ? ((ValueParser.OfDouble) parser).parseDouble(value)
+                : (Double) parser.parse(value, this);
+    }
+
+    @Override
+    public boolean convertBoolean(String value) {
+        final ValueParser<?> parser = parserType(boolean.class);
+        return parser instanceof ValueParser.OfBoolean
+                ? ((ValueParser.OfBoolean) parser).parseBoolean(value)
+                : (Boolean) parser.parse(value, this);
+    }
+
+    private ValueParser<?> parserType(Type targetType) {
+        return parserRegistry.parserForType(targetType)
+                .orElseThrow(() -> new IllegalStateException("No parser registered for: " + targetType));
+    }
+
+    /**
+     * A conversion to one type, with the parsers that it uses already found.
+     */
+    @FunctionalInterface
+    private interface Conversion {
+        Object convert(String value);
+    }
+
+}
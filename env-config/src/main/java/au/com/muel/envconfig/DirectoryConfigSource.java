@@ -0,0 +1,266 @@
+package au.com.muel.envconfig;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A read only config source backed by a directory with a file per key, which is how Kubernetes
+ * mounts secrets and ConfigMaps. The file name is the key and its content, decoded as UTF-8, is the
+ * value. Hidden files (including Kubernetes' {@code ..data} links) aren't keys.
+ *
+ * <p>Values are read on first access and held in a size bounded cache, which a
+ * {@link WatchService} thread invalidates as files change. Listeners are notified after each change,
+ * eg to {@link ReloadableConfig#reload() reload} a config created from this source.
+ */
+public final class DirectoryConfigSource extends AbstractMap<String, String> implements Closeable {
+
+    static final int DEFAULT_MAX_CACHED_VALUES = 1024;
+
+    private final Path directory;
+    private final int maxCachedValues;
+    private final WatchService watchService;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final Thread watcher;
+
+    // guarded by itself, missing files are cached as empty
+    private final Map<String, Optional<String>> cache;
+    private long generation;
+
+    private DirectoryConfigSource(Path directory, int maxCachedValues, WatchService watchService) {
+
+        this.directory = directory;
+        this.maxCachedValues = maxCachedValues;
+        this.watchService = watchService;
+        this.watcher = new Thread(this::watchForChanges, "env-config-watcher-" + directory.getFileName());
+        this.watcher.setDaemon(true);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+                return size() > DirectoryConfigSource.this.maxCachedValues;
+            }
+        };
+    }
+
+    /**
+     * Creates a source for the directory and starts watching it for changes.
+     */
+    public static DirectoryConfigSource watch(Path directory) throws IOException {
+        return watch(directory, DEFAULT_MAX_CACHED_VALUES);
+    }
+
+    /**
+     * Creates a source for the directory, caching at most the given number of values, and starts
+     * watching it for changes.
+     */
+    public static DirectoryConfigSource watch(Path directory, int maxCachedValues) throws IOException {
+
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Not a directory: " + directory);
+        }
+        if (maxCachedValues < 1) {
+            throw new IllegalArgumentException("maxCachedValues must be positive, got: " + maxCachedValues);
+        }
+
+        final WatchService watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+
+        final DirectoryConfigSource source = new DirectoryConfigSource(directory, maxCachedValues, watchService);
+        source.watcher.start();
+        return source;
+    }
+
+    /**
+     * Adds a listener that's called on the watching thread after files change. A listener that
+     * throws, eg a reload that finds an invalid value, is reported to the watching thread's uncaught
+     * exception handler, which by default is {@link Thread#getDefaultUncaughtExceptionHandler()}.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String get(Object key) {
+
+        final Path file = fileOf(key);
+        if (file == null) {
+            return null;
+        }
+
+        final String name = (String) key;
+        final long readGeneration;
+        synchronized (cache) {
+
+            final Optional<String> cached = cache.get(name);
+            if (cached != null) {
+                return cached.orElse(null);
+            }
+            readGeneration = generation;
+        }
+
+        final Optional<String> value = read(file);
+        synchronized (cache) {
+
+            // don't cache a value that may have been read before an invalidation
+            if (readGeneration == generation) {
+                cache.put(name, value);
+            }
+        }
+        return value.orElse(null);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+
+        final Set<Entry<String, String>> entries = new LinkedHashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+
+            for (Path file : files) {
+
+                final String name = file.getFileName().toString();
+                final String value = get(name);
+                if (value != null) {
+                    entries.add(new SimpleImmutableEntry<>(name, value));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    /**
+     * Stops watching the directory. Values may still be read, but changes are no longer seen.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Returns the thread that watches the directory and notifies the listeners.
+     */
+    Thread watcher() {
+        return watcher;
+    }
+
+    int cachedValues() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private Path fileOf(Object key) {
+
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final String name = (String) key;
+        if (name.isEmpty() || name.startsWith(".") || name.indexOf('/') >= 0
+                || name.indexOf(directory.getFileSystem().getSeparator().charAt(0)) >= 0) {
+            return null;
+        }
+        return directory.resolve(name);
+    }
+
+    private static Optional<String> read(Path file) {
+
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void watchForChanges() {
+
+        while (true) {
+
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            boolean invalidateAll = false;
+            final Set<String> changed = new LinkedHashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+
+                final String name = event.kind() == OVERFLOW ? null : event.context().toString();
+                if (name == null || name.startsWith(".")) {
+                    // overflowed, or Kubernetes swapped its ..data link so any key may have changed
+                    invalidateAll = true;
+                } else {
+                    changed.add(name);
+                }
+            }
+
+            synchronized (cache) {
+
+                generation++;
+                if (invalidateAll) {
+                    cache.clear();
+                } else {
+                    cache.keySet().removeAll(changed);
+                }
+            }
+
+            for (Runnable listener : listeners) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    // a failing listener mustn't stop the watcher, or the other listeners
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * The methods of a config type, each mapped to a slot. A table is computed once per config type and
+ * shared by every instance of that type, so dispatching a proxied method is a single lookup.
+ */
+final class DispatchTable {
+
+    private static final ClassValue<DispatchTable> TABLES = new ClassValue<>() {
+        @Override
+        protected DispatchTable computeValue(Class<?> configType) {
+            return new DispatchTable(configType);
+        }
+    };
+
+    private final List<Class<?>> interfaces;
+    private final List<Method> methods;
+    private final Map<Method, Integer> slots;
+
+    private DispatchTable(Class<?> configType) {
+
+        // breadth first over the interface inheritance hierarchy, so that all methods may be proxied
+        final Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        final Queue<Class<?>> interfacesQueue = new LinkedList<>();
+        interfacesQueue.add(configType);
+        while (!interfacesQueue.isEmpty()) {
+
+            final Class<?> interfaceToProxy = interfacesQueue.poll();
+            if (hierarchy.add(interfaceToProxy)) {
+                Collections.addAll(interfacesQueue, interfaceToProxy.getInterfaces());
+            }
+        }
+
+        final List<Method> methods = new ArrayList<>();
+        final Map<Method, Integer> slots = new HashMap<>();
+        for (Class<?> interfaceToProxy : hierarchy) {
+            for (Method m : interfaceToProxy.getDeclaredMethods()) {
+
+                if (!Modifier.isStatic(m.getModifiers()) && !slots.containsKey(m)) {
+                    slots.put(m, methods.size());
+                    methods.add(m);
+                }
+            }
+        }
+
+        this.interfaces = List.copyOf(hierarchy);
+        this.methods = Collections.unmodifiableList(methods);
+        this.slots = Collections.unmodifiableMap(slots);
+    }
+
+    static DispatchTable forType(Class<?> configType) {
+        return TABLES.get(configType);
+    }
+
+    /**
+     * Returns the interface inheritance hierarchy, starting with the config type.
+     */
+    List<Class<?>> interfaces() {
+        return interfaces;
+    }
+
+    /**
+     * Returns the non-static methods declared by the interface hierarchy, indexed by slot.
+     */
+    List<Method> methods() {
+        return methods;
+    }
+
+    int size() {
+        return methods.size();
+    }
+
+    /**
+     * Returns the slot of the method, or -1 if it isn't declared by the interface hierarchy.
+     */
+    int slotOf(Method method) {
+        final Integer slot = slots.get(method);
+        return slot == null ? -1 : slot;
+    }
+
+    Method method(int slot) {
+        return methods.get(slot);
+    }
+
+}
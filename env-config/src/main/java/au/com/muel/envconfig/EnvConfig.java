@@ -0,0 +1,616 @@
+package au.com.muel.envconfig;
+
+import static java.lang.System.getenv;
+import static java.lang.reflect.Proxy.newProxyInstance;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+public class EnvConfig {
+
+    // cached per config type, so that cached configs don't keep the type's class loader reachable
+    private static final ClassValue<TypeCache> CONFIG_CACHES = new ClassValue<>() {
+        @Override
+        protected TypeCache computeValue(Class<?> configType) {
+
+            final TypeCache cache = new TypeCache();
+            synchronized (ALL_CACHES) {
+                ALL_CACHES.add(cache);
+            }
+            return cache;
+        }
+    };
+
+    // every type's cache, held weakly, so that they can all be cleared
+    private static final Set<TypeCache> ALL_CACHES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    // the loader options that configs are cached by
+    private static final int GENERATED = 1;
+    private static final int LAZY = 2;
+    private static final int PROFILED = 4;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static volatile ConfigMetricsListener metricsListener;
+
+
+    public static <T> T fromEnv(final Class<T> configType) {
+        return process(EnvConfigLoader.DEFAULT, Optional.empty(), configType, getenv());
+    }
+
+    public static <T> T fromEnv(final String namespace, final Class<T> configType) {
+        return process(EnvConfigLoader.DEFAULT, Optional.of(namespace), configType, getenv());
+    }
+
+    public static <T> T fromConfigSource(final Class<T> configType,
+            final Map<String, String> configSource) {
+        return process(EnvConfigLoader.DEFAULT, Optional.empty(), configType, configSource);
+    }
+
+    public static <T> T fromConfigSource(final String namespace, final Class<T> configType,
+            final Map<String, String> configSource) {
+        return process(EnvConfigLoader.DEFAULT, Optional.of(namespace), configType, configSource);
+    }
+
+    /**
+     * Creates a config for each namespace, eg one per tenant.
+     *
+     * @see EnvConfigLoader#fromEnv(Collection, Class)
+     */
+    public static <T> Map<String, T> fromEnv(final Collection<String> namespaces, final Class<T> configType) {
+        return processAll(EnvConfigLoader.DEFAULT, namespaces, configType, getenv());
+    }
+
+    public static <T> Map<String, T> fromConfigSource(final Collection<String> namespaces,
+            final Class<T> configType, final Map<String, String> configSource) {
+        return processAll(EnvConfigLoader.DEFAULT, namespaces, configType, configSource);
+    }
+
+    /**
+     * Returns a loader that creates configs as instances of generated classes, rather than proxies.
+     *
+     * @see EnvConfigLoader#generated()
+     */
+    public static EnvConfigLoader generated() {
+        return EnvConfigLoader.DEFAULT.generated();
+    }
+
+    /**
+     * Returns a loader that creates configs which parse each value on first access.
+     *
+     * @see EnvConfigLoader#lazy()
+     */
+    public static EnvConfigLoader lazy() {
+        return EnvConfigLoader.DEFAULT.lazy();
+    }
+
+    /**
+     * Resolves every value of a config, as is done when a config is created eagerly. This is only
+     * needed for configs created by a {@link #lazy()} loader; other configs are already valid.
+     *
+     * @throws IllegalStateException listing the values that failed to parse
+     */
+    public static void validate(final Object config) {
+        validate(config, null);
+    }
+
+    /**
+     * Returns a loader that resolves the values of a config in parallel on the executor, eg a
+     * {@link java.util.concurrent.ForkJoinPool} or a virtual thread executor.
+     *
+     * @see EnvConfigLoader#parallel(Executor)
+     */
+    public static EnvConfigLoader parallel(final Executor executor) {
+        return EnvConfigLoader.DEFAULT.parallel(executor);
+    }
+
+    /**
+     * Returns a loader whose configs count how often each method is called.
+     *
+     * @see EnvConfigLoader#profiled()
+     */
+    public static EnvConfigLoader profiled() {
+        return EnvConfigLoader.DEFAULT.profiled();
+    }
+
+    /**
+     * Returns how often each method of the config type has been called, over every config of the
+     * type created by a {@link #profiled()} loader.
+     */
+    public static AccessReport accessReport(final Class<?> configType) {
+        return AccessReport.of(configType);
+    }
+
+    /**
+     * Returns a loader that shares identical immutable values between the configs it creates.
+     *
+     * @see EnvConfigLoader#interned(int)
+     */
+    public static EnvConfigLoader interned(final int maxValues) {
+        return EnvConfigLoader.DEFAULT.interned(maxValues);
+    }
+
+    /**
+     * Creates a config that can be reloaded from the source.
+     *
+     * @see EnvConfigLoader#reloadable(Class, Supplier)
+     */
+    public static <T> ReloadableConfig<T> reloadable(final Class<T> configType,
+            final Supplier<? extends Map<String, String>> configSource) {
+        return EnvConfigLoader.DEFAULT.reloadable(configType, configSource);
+    }
+
+    /**
+     * Creates a config that can be reloaded from the source.
+     *
+     * @see EnvConfigLoader#reloadable(String, Class, Supplier)
+     */
+    public static <T> ReloadableConfig<T> reloadable(final String namespace, final Class<T> configType,
+            final Supplier<? extends Map<String, String>> configSource) {
+        return EnvConfigLoader.DEFAULT.reloadable(namespace, configType, configSource);
+    }
+
+    /**
+     * Returns the environment variables in the namespace that none of the config types read. The
+     * environment is indexed once, so this doesn't scan every variable.
+     *
+     * @see ConfigSourceIndex#unusedUnder(String, Class...)
+     */
+    public static List<String> unusedVariables(final String namespace, final Class<?>... configTypes) {
+        return EnvIndex.INDEX.unusedUnder(namespace, configTypes);
+    }
+
+    public static void clear(final Optional<String> namespace, final Class<?> configType) {
+        final TypeCache cache = CONFIG_CACHES.get(configType);
+        int evicted = 0;
+        for (Iterator<CacheKey> keys = cache.configs.keySet().iterator(); keys.hasNext();) {
+            if (sameNamespace(keys.next().namespace, namespace)) {
+                keys.remove();
+                evicted++;
+            }
+        }
+        ConfigEvents.evicted(namespace, configType, evicted);
+    }
+
+    /**
+     * Sets the listener notified as configs are created and their values resolved, or null (the
+     * default) for none. Without a listener nothing is timed or counted.
+     *
+     * @see ConfigMetrics
+     */
+    public static void setMetricsListener(final ConfigMetricsListener listener) {
+        metricsListener = listener;
+    }
+
+    static ConfigMetricsListener metricsListener() {
+        return metricsListener;
+    }
+
+    public static void clearAll() {
+
+        int evicted = 0;
+        synchronized (ALL_CACHES) {
+            for (TypeCache cache : ALL_CACHES) {
+                evicted += cache.configs.size();
+                cache.configs.clear();
+            }
+        }
+        ConfigEvents.evicted(Optional.empty(), null, evicted);
+    }
+
+    static <T> T process(final EnvConfigLoader loader, final Optional<String> namespace,
+            final Class<T> configType, final Map<String, String> configSource) {
+
+        final ConfigPlan plan = ConfigPlan.forType(configType);
+        final TypeCache cache = CONFIG_CACHES.get(configType);
+        final CacheKey key = createCacheKey(loader, namespace, configType, plan, configSource);
+        Object config = cache.configs.get(key);
+
+        final ConfigMetricsListener listener = metricsListener;
+        if (listener != null) {
+            listener.onConfigRequested(configType, config != null && !(config instanceof InFlight));
+        }
+
+        if (config == null || config instanceof InFlight) {
+            config = cachedConfig(cache, key, () -> createConfig(loader, namespace, configType, configSource,
+                    plan.envVarNames(namespace)));
+        }
+
+        if (!loader.isLazy()) {
+            // the cached config may have been created lazily
+            validate(config, loader.executor());
+        }
+
+        return configType.cast(config);
+    }
+
+    /**
+     * Returns the cached config, creating it if there isn't one. A config being created is cached as
+     * an in-flight creation, so that other callers wait for it, but it's created without holding any
+     * lock of the cache, so creating one config never blocks others. A failed creation is removed,
+     * after it's reported to every caller that waited for it. Configs stay cached until they're
+     * cleared.
+     */
+    private static Object cachedConfig(final TypeCache cache, final CacheKey key, final Callable<Object> creator) {
+
+        while (true) {
+
+            final Object cached = cache.configs.get(key);
+            if (cached instanceof InFlight) {
+                return await((InFlight) cached);
+            }
+            if (cached != null) {
+                return cached;
+            }
+
+            final InFlight creation = new InFlight(creator, key);
+            if (cache.configs.putIfAbsent(key, creation) == null) {
+
+                creation.run();
+                try {
+
+                    final Object config = await(creation);
+                    // unless the config was cleared while it was created
+                    cache.configs.replace(key, creation, config);
+                    return config;
+                } catch (RuntimeException | Error e) {
+
+                    cache.configs.remove(key, creation);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Object await(final InFlight creation) {
+
+        try {
+            return creation.await();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create config: " + e, e);
+        }
+    }
+
+    /**
+     * Creates a config for each namespace, using the loader's executor to create them in parallel.
+     * Unless the loader is lazy, each config is a compiled or generated class where possible, and a
+     * generated class is created from values parsed with the type's plan rather than from a proxy.
+     */
+    static <T> Map<String, T> processAll(final EnvConfigLoader loader, final Collection<String> namespaces,
+            final Class<T> configType, final Map<String, String> configSource) {
+
+        final EnvConfigLoader instanceLoader = loader.isLazy() ? loader.sequential() : loader.generated().sequential();
+
+        final List<String> namespaceList = List.copyOf(namespaces);
+        final Object[] configs = new Object[namespaceList.size()];
+        final String[] errors = new String[configs.length];
+        forEach(configs.length, i -> {
+
+            final Optional<String> namespace = Optional.of(namespaceList.get(i));
+            try {
+                configs[i] = process(instanceLoader, namespace, configType, configSource);
+            } catch (RuntimeException e) {
+                errors[i] = String.format("%s - %s", namespace.get(), e.getMessage());
+            }
+        }, loader.executor());
+
+        throwIfErrors("Failed to create configs with errors: ", errors);
+
+        final Map<String, T> configsByNamespace = new LinkedHashMap<>();
+        for (int i=0; i<configs.length; i++) {
+            configsByNamespace.put(namespaceList.get(i), configType.cast(configs[i]));
+        }
+        return Collections.unmodifiableMap(configsByNamespace);
+    }
+
+    private static <T> T createConfig(final EnvConfigLoader loader, final Optional<String> namespace,
+            final Class<T> configType, final Map<String, String> configSource, final List<String> envVarNames) {
+
+        // compiled implementations, and generated classes created from directly parsed values,
+        // resolve their values sequentially, so they aren't used in parallel
+        if (!loader.isLazy() && !loader.isProfiled() && loader.executor() == null) {
+            final Optional<Object> compiled = CompiledImplementations.create(configType, namespace, configSource,
+                    loader.interner());
+            if (compiled.isPresent()) {
+                return configType.cast(compiled.get());
+            }
+
+            if (loader.isGenerated()) {
+                final Optional<Object> generated = ConfigPlan.forType(configType)
+                        .createGenerated(namespace, configSource, envVarNames, loader.interner());
+                if (generated.isPresent()) {
+                    return configType.cast(generated.get());
+                }
+            }
+        }
+
+        return createConfig(loader, configType,
+                new DefaultInvocationHandler(namespace, configType, configSource, envVarNames, loader.interner(),
+                        loader.isProfiled()));
+    }
+
+    /**
+     * Creates a config backed by the handler, which may already hold some of the resolved values.
+     */
+    static <T> T createConfig(final EnvConfigLoader loader, final Class<T> configType,
+            final DefaultInvocationHandler handler) {
+
+        final Object event = ConfigEvents.beginCreation();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Class<?>[] types = new Class<?>[] {configType};
+
+        final T config = configType.cast(newProxyInstance(classLoader, types, handler));
+
+        final ConfigMetricsListener listener = metricsListener;
+        if (listener != null) {
+            listener.onProxyCreated(configType);
+        }
+
+        if (loader.isLazy()) {
+            ConfigEvents.endCreation(event, handler.namespace(), configType);
+            return config;
+        }
+
+        validate(handler, loader.executor());
+        ConfigEvents.endCreation(event, handler.namespace(), configType);
+
+        if (loader.isGenerated() && !loader.isProfiled()) {
+            return ConfigClassGenerator.forType(configType)
+                    .map(generatedClass -> configType.cast(
+                            generatedClass.newInstance(handler.resolvedValues(), handler.describe())))
+                    .orElse(config);
+        }
+
+        return config;
+    }
+
+    private static void validate(final Object config, final Executor executor) {
+
+        final DefaultInvocationHandler handler = handlerOf(config);
+        if (handler != null) {
+            validate(handler, executor);
+        }
+    }
+
+    private static void validate(final DefaultInvocationHandler handler, final Executor executor) {
+
+        if (handler.isValidated()) {
+            return;
+        }
+
+        // errors are indexed by method, so that they're reported in the same order regardless of
+        // the order that methods are resolved in
+        final List<Method> methods = handler.configMethods();
+        final String[] errors = new String[methods.size()];
+        forEach(errors.length, i -> errors[i] = resolve(handler, i, methods.get(i)), executor);
+
+        throwIfErrors("Failed to parse config with errors: ", errors);
+
+        handler.markValidated();
+    }
+
+    /**
+     * Runs the task for each index, on the executor if there is one, and waits for them all.
+     */
+    private static void forEach(final int count, final IntConsumer task, final Executor executor) {
+
+        if (executor == null) {
+
+            for (int i=0; i<count; i++) {
+                task.accept(i);
+            }
+        } else {
+
+            final CompletableFuture<?>[] tasks = new CompletableFuture<?>[count];
+            for (int i=0; i<count; i++) {
+                final int index = i;
+                tasks[i] = CompletableFuture.runAsync(() -> task.accept(index), executor);
+            }
+            CompletableFuture.allOf(tasks).join();
+        }
+    }
+
+    static void throwIfErrors(final String message, final String[] errors) {
+
+        final List<String> messages = new ArrayList<>();
+        for (String error : errors) {
+            if (error != null) {
+                messages.add(error);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            throw new IllegalStateException(message + messages);
+        }
+    }
+
+    /**
+     * Resolves the method's value, returning an error message if it fails. This goes to the handler
+     * rather than through the config, so that it isn't counted as an access.
+     */
+    private static String resolve(final DefaultInvocationHandler handler, final int slot, final Method m) {
+
+        try {
+
+            handler.valueOf(slot);
+            return null;
+        } catch (Throwable e) {
+            return String.format("%s() - %s", m.getName(), e.getMessage());
+        }
+    }
+
+    private static DefaultInvocationHandler handlerOf(final Object config) {
+
+        if (Proxy.isProxyClass(config.getClass())) {
+            final InvocationHandler handler = Proxy.getInvocationHandler(config);
+            if (handler instanceof DefaultInvocationHandler) {
+                return (DefaultInvocationHandler) handler;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a key from the namespace, the config type and the source, along with a fingerprint of
+     * the values that the config type reads so that a source whose values have changed doesn't hit
+     * a stale config. Lazy configs don't read the source until a value is accessed, so they're keyed
+     * on the source alone, as are configs of the environment, which doesn't change. The key also
+     * includes the loader's options, so that eg a profiled loader never returns an unprofiled config.
+     */
+    private static CacheKey createCacheKey(final EnvConfigLoader loader, final Optional<String> namespace,
+            final Class<?> configType, final ConfigPlan plan, final Map<String, String> configSource) {
+
+        // the environment can't change, so it's identified by reference alone
+        long fingerprint = 0;
+        if (!loader.isLazy() && configSource != getenv()) {
+
+            fingerprint = FNV_OFFSET_BASIS;
+            for (String envVarName : plan.envVarNames(namespace)) {
+                fingerprint = fingerprint(fingerprint, configSource.get(envVarName));
+            }
+        }
+
+        return new CacheKey(namespace, configType, configSource, fingerprint, options(loader), loader.interner());
+    }
+
+    /**
+     * Returns the loader's options that change the configs it creates, as flags. Lazy and profiled
+     * configs are always proxies, so whether they're generated doesn't matter.
+     */
+    private static int options(final EnvConfigLoader loader) {
+
+        if (loader.isLazy() || loader.isProfiled()) {
+            return (loader.isLazy() ? LAZY : 0) | (loader.isProfiled() ? PROFILED : 0);
+        }
+        return loader.isGenerated() ? GENERATED : 0;
+    }
+
+    /**
+     * Adds the value to an FNV-1a hash, with a null value distinct from every string.
+     */
+    private static long fingerprint(final long hash, final String value) {
+
+        long fingerprint = (hash ^ (value == null ? 1 : 2)) * FNV_PRIME;
+        if (value != null) {
+            for (int i=0; i<value.length(); i++) {
+                fingerprint = (fingerprint ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Whether the namespaces are the same, ignoring case as they're upper cased in variable names.
+     */
+    private static boolean sameNamespace(final Optional<String> a, final Optional<String> b) {
+        return a.isPresent() ? b.isPresent() && a.get().equalsIgnoreCase(b.get()) : b.isEmpty();
+    }
+
+    /**
+     * Holds the index of the environment, which doesn't change, so it's built on first use.
+     */
+    private static final class EnvIndex {
+        static final ConfigSourceIndex INDEX = ConfigSourceIndex.of(getenv());
+    }
+
+    /**
+     * The configs of one type, keyed by namespace and source.
+     */
+    private static final class TypeCache {
+
+        final Map<CacheKey, Object> configs = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Identifies the source by reference. The source is held strongly, as a proxy's handler holds
+     * it anyway, so a source is reachable until the configs created from it are cleared.
+     */
+    private static final class CacheKey {
+
+        private final Optional<String> namespace;
+        private final Class<?> configType;
+        private final Map<String, String> configSource;
+        private final long fingerprint;
+        private final int options;
+        private final ValueInterner interner;
+        private final int hashCode;
+
+        CacheKey(Optional<String> namespace, Class<?> configType, Map<String, String> configSource,
+                long fingerprint, int options, ValueInterner interner) {
+            this.namespace = namespace;
+            this.configType = configType;
+            this.configSource = configSource;
+            this.fingerprint = fingerprint;
+            this.options = options;
+            this.interner = interner;
+            this.hashCode = 31 * (31 * (31 * namespaceHash(namespace) + System.identityHashCode(configSource))
+                    + Long.hashCode(fingerprint)) + options;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+
+            final CacheKey other = (CacheKey) obj;
+            return hashCode == other.hashCode && configType == other.configType && fingerprint == other.fingerprint
+                    && options == other.options && interner == other.interner && configSource == other.configSource
+                    && sameNamespace(namespace, other.namespace);
+        }
+
+        /**
+         * Hashes the namespace ignoring case, consistently with {@link String#equalsIgnoreCase},
+         * without creating an upper-cased copy.
+         */
+        private static int namespaceHash(Optional<String> namespace) {
+
+            if (namespace.isEmpty()) {
+                return 0;
+            }
+
+            final String name = namespace.get();
+            int hash = 1;
+            for (int i=0; i<name.length(); i++) {
+                hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+            }
+            return hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("config %s of namespace %s", configType.getName(), namespace.orElse("default"));
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package au.com.muel.envconfig;
 
-
-class EnvConfigException extends RuntimeException {
+/**
+ * Thrown when a config value can't be resolved, or when listeners fail after a reload.
+ */
+public class EnvConfigException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,196 @@
+package au.com.muel.envconfig;
+
+import static java.lang.System.getenv;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Creates config instances using non-default options. Loaders are immutable, so each option method
+ * returns a new loader and a loader may be freely shared.
+ *
+ * <p>Instances are cached in the same way as {@link EnvConfig#fromEnv(Class)}, so if a config of
+ * the same namespace, type and source has already been created by a loader with the same options
+ * it's returned. Loaders that are generated, lazy or profiled, or that intern values with different
+ * maximums, don't share configs.
+ */
+public final class EnvConfigLoader {
+
+    static final EnvConfigLoader DEFAULT = new EnvConfigLoader(false, false, false, null, null);
+
+    // the interner of each maximum, as interners are part of the keys of cached configs
+    private static final ConcurrentMap<Integer, ValueInterner> SHARED_INTERNERS = new ConcurrentHashMap<>();
+
+    private final boolean generated;
+    private final boolean lazy;
+    private final boolean profiled;
+    private final Executor executor;
+    private final ValueInterner interner;
+
+    private EnvConfigLoader(boolean generated, boolean lazy, boolean profiled, Executor executor,
+            ValueInterner interner) {
+        this.generated = generated;
+        this.lazy = lazy;
+        this.profiled = profiled;
+        this.executor = executor;
+        this.interner = interner;
+    }
+
+    /**
+     * Returns a loader that generates a concrete implementation class for each config type rather
+     * than using a {@link java.lang.reflect.Proxy}. Values are held in final fields so accessor
+     * calls are plain field reads. A proxy is still used for config types that an implementation
+     * can't be generated for.
+     */
+    public EnvConfigLoader generated() {
+        return new EnvConfigLoader(true, lazy, profiled, executor, interner);
+    }
+
+    /**
+     * Returns a loader that doesn't parse values when a config is created. Instead each value is
+     * parsed when it's first accessed, and then cached. Invalid values are therefore only reported
+     * on access, or by {@link EnvConfig#validate(Object)}. Lazy configs are always proxies, so this
+     * takes precedence over {@link #generated()}.
+     */
+    public EnvConfigLoader lazy() {
+        return new EnvConfigLoader(generated, true, profiled, executor, interner);
+    }
+
+    /**
+     * Returns a loader that resolves the values of a config in parallel on the executor, which is
+     * worthwhile when there are many expensive values (eg large collections or slow custom parsers).
+     * Errors are reported in the same order as when values are resolved sequentially. The creating
+     * thread waits for every value to be resolved, so the executor mustn't depend on that thread.
+     * Implementations generated by the annotation processor resolve their values sequentially, so
+     * they aren't used by a parallel loader.
+     */
+    public EnvConfigLoader parallel(Executor executor) {
+        return new EnvConfigLoader(generated, lazy, profiled, Objects.requireNonNull(executor), interner);
+    }
+
+    /**
+     * Returns a loader whose configs count how often each method is called, to find the hottest
+     * methods and those never called, as reported by {@link EnvConfig#accessReport(Class)}. Reads
+     * when a config is created or validated aren't counted. Profiled configs are always proxies, so
+     * this takes precedence over {@link #generated()}.
+     */
+    public EnvConfigLoader profiled() {
+        return new EnvConfigLoader(generated, lazy, true, executor, interner);
+    }
+
+    /**
+     * Returns a loader that shares parsed values between the configs it creates, holding up to
+     * 1024 values.
+     *
+     * @see #interned(int)
+     */
+    public EnvConfigLoader interned() {
+        return interned(1024);
+    }
+
+    /**
+     * Returns a loader that shares parsed values between the configs it creates, so that when many
+     * configs have the same value (eg tenants of the same type) it's parsed once and held once.
+     * Only immutable values are shared - those of the built-in scalar types, enums, and
+     * {@code Optional}, {@code List}, {@code Set} and {@code Map} of those - and never those of
+     * methods with custom parsers. Once there are more than the maximum number of values the least
+     * recently used are evicted. Loaders created from this loader share its values, as do all
+     * interned loaders with the same maximum, so that they also share cached configs.
+     */
+    public EnvConfigLoader interned(int maxValues) {
+        return new EnvConfigLoader(generated, lazy, profiled, executor,
+                SHARED_INTERNERS.computeIfAbsent(maxValues, ValueInterner::new));
+    }
+
+    /**
+     * Returns a loader with the same options, but that resolves values on the calling thread.
+     */
+    EnvConfigLoader sequential() {
+        return executor == null ? this : new EnvConfigLoader(generated, lazy, profiled, null, interner);
+    }
+
+    boolean isGenerated() {
+        return generated;
+    }
+
+    boolean isLazy() {
+        return lazy;
+    }
+
+    boolean isProfiled() {
+        return profiled;
+    }
+
+    /**
+     * Returns the executor to resolve values on, or null to resolve them on the calling thread.
+     */
+    Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Returns the interner to share values through, or null if values aren't shared.
+     */
+    ValueInterner interner() {
+        return interner;
+    }
+
+    public <T> T fromEnv(final Class<T> configType) {
+        return EnvConfig.process(this, Optional.empty(), configType, getenv());
+    }
+
+    public <T> T fromEnv(final String namespace, final Class<T> configType) {
+        return EnvConfig.process(this, Optional.of(namespace), configType, getenv());
+    }
+
+    public <T> T fromConfigSource(final Class<T> configType, final Map<String, String> configSource) {
+        return EnvConfig.process(this, Optional.empty(), configType, configSource);
+    }
+
+    public <T> T fromConfigSource(final String namespace, final Class<T> configType,
+            final Map<String, String> configSource) {
+        return EnvConfig.process(this, Optional.of(namespace), configType, configSource);
+    }
+
+    /**
+     * Creates a config for each namespace, returned in the same order as the namespaces. The work
+     * that doesn't depend on the namespace is done once for the config type, and with a
+     * {@link #parallel(Executor)} loader the configs are created in parallel. Unless the loader is
+     * {@link #lazy()}, configs are instances of generated classes where possible, as they're
+     * smaller than proxies. Each config is cached as if it were created individually by
+     * {@code generated()} of this loader.
+     *
+     * @throws IllegalStateException listing the namespaces whose configs failed to parse
+     */
+    public <T> Map<String, T> fromEnv(final Collection<String> namespaces, final Class<T> configType) {
+        return EnvConfig.processAll(this, namespaces, configType, getenv());
+    }
+
+    public <T> Map<String, T> fromConfigSource(final Collection<String> namespaces, final Class<T> configType,
+            final Map<String, String> configSource) {
+        return EnvConfig.processAll(this, namespaces, configType, configSource);
+    }
+
+    /**
+     * Creates a config that can be reloaded from the source, which is called for every reload.
+     * Reloadable configs aren't cached.
+     *
+     * @throws IllegalStateException if the source has invalid values
+     */
+    public <T> ReloadableConfig<T> reloadable(final Class<T> configType,
+            final Supplier<? extends Map<String, String>> configSource) {
+        return new ReloadableConfig<>(this, Optional.empty(), configType, configSource);
+    }
+
+    public <T> ReloadableConfig<T> reloadable(final String namespace, final Class<T> configType,
+            final Supplier<? extends Map<String, String>> configSource) {
+        return new ReloadableConfig<>(this, Optional.of(namespace), configType, configSource);
+    }
+
+}
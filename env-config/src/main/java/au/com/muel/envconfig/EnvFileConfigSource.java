@@ -0,0 +1,329 @@
+package au.com.muel.envconfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read only config source backed by a memory mapped {@code .env} style file, for large files where
+ * building a {@code HashMap} of every value would be slow and use a lot of memory.
+ *
+ * <p>Opening the file only builds an index of offsets into it, and a value is decoded into a string
+ * when it's read. Each line is a {@code KEY=VALUE} pair, optionally prefixed by {@code export}.
+ * Blank lines, lines starting with {@code #} and lines without {@code =} are ignored. Whitespace
+ * around keys and values, and a pair of matching quotes around a value, are removed. If a key is
+ * repeated, the last value is used. The file is decoded as UTF-8 and must not be modified while
+ * it's mapped.
+ */
+public final class EnvFileConfigSource extends AbstractMap<String, String> {
+
+    // each entry is 4 ints: key offset, key length, value offset, value length
+    private static final int ENTRY_INTS = 4;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int[] entries;
+    private final int[] hashes;
+    // open addressing table of entry index + 1, so 0 is an empty slot
+    private final int[] table;
+
+    private EnvFileConfigSource(ByteBuffer buffer) {
+
+        this.buffer = buffer;
+
+        int[] entries = new int[64 * ENTRY_INTS];
+        int[] hashes = new int[64];
+        int[] table = new int[128];
+        int size = 0;
+
+        final int limit = buffer.limit();
+        int pos = hasByteOrderMark(buffer) ? 3 : 0;
+        while (pos < limit) {
+
+            int lineEnd = indexOf(buffer, '\n', pos, limit);
+            if (lineEnd < 0) {
+                lineEnd = limit;
+            }
+
+            int start = skipWhitespace(buffer, pos, lineEnd);
+            final int end = trimWhitespace(buffer, start, lineEnd);
+            pos = lineEnd + 1;
+
+            if (start == end || buffer.get(start) == '#') {
+                continue;
+            }
+            if (startsWith(buffer, start, end, "export ")) {
+                start = skipWhitespace(buffer, start + 7, end);
+            }
+
+            final int equals = indexOf(buffer, '=', start, end);
+            if (equals < 0) {
+                continue;
+            }
+
+            final int keyEnd = trimWhitespace(buffer, start, equals);
+            if (keyEnd == start) {
+                continue;
+            }
+
+            int valueStart = skipWhitespace(buffer, equals + 1, end);
+            int valueEnd = end;
+            if (valueEnd - valueStart >= 2) {
+
+                final byte quote = buffer.get(valueStart);
+                if ((quote == '"' || quote == '\'') && buffer.get(valueEnd - 1) == quote) {
+                    valueStart++;
+                    valueEnd--;
+                }
+            }
+
+            final int hash = hash(buffer, start, keyEnd);
+            int index = find(buffer, entries, hashes, table, hash, buffer, start, keyEnd - start);
+            if (index < 0) {
+
+                if (size == hashes.length) {
+                    entries = Arrays.copyOf(entries, size * 2 * ENTRY_INTS);
+                    hashes = Arrays.copyOf(hashes, size * 2);
+                }
+                if ((size + 1) * 2 > table.length) {
+                    table = rehash(hashes, size, table.length * 2);
+                }
+
+                index = size++;
+                hashes[index] = hash;
+                entries[index * ENTRY_INTS] = start;
+                entries[index * ENTRY_INTS + 1] = keyEnd - start;
+                insert(table, hash, index);
+            }
+
+            // a repeated key keeps its first position, but takes the last value
+            entries[index * ENTRY_INTS + 2] = valueStart;
+            entries[index * ENTRY_INTS + 3] = valueEnd - valueStart;
+        }
+
+        this.size = size;
+        this.entries = entries;
+        this.hashes = hashes;
+        this.table = table;
+    }
+
+    /**
+     * Maps the file and indexes its keys.
+     *
+     * @throws IllegalArgumentException if the file is 2GB or larger
+     */
+    public static EnvFileConfigSource map(Path file) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File is too large to map: " + file);
+            }
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            return new EnvFileConfigSource(buffer);
+        }
+    }
+
+    @Override
+    public String get(Object key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : value(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+
+                return new Iterator<>() {
+
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        final int index = next++;
+                        return new SimpleImmutableEntry<>(key(index), value(index));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        final ByteBuffer keyBytes = ByteBuffer.wrap(((String) key).getBytes(StandardCharsets.UTF_8));
+        final int hash = hash(keyBytes, 0, keyBytes.limit());
+        return find(buffer, entries, hashes, table, hash, keyBytes, 0, keyBytes.limit());
+    }
+
+    private String key(int index) {
+        return decode(entries[index * ENTRY_INTS], entries[index * ENTRY_INTS + 1]);
+    }
+
+    private String value(int index) {
+        return decode(entries[index * ENTRY_INTS + 2], entries[index * ENTRY_INTS + 3]);
+    }
+
+    private String decode(int offset, int length) {
+
+        // a duplicate has its own position, so concurrent reads don't interfere
+        final byte[] bytes = new byte[length];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int find(ByteBuffer buffer, int[] entries, int[] hashes, int[] table, int hash,
+            ByteBuffer key, int keyOffset, int keyLength) {
+
+        final int mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+
+            final int index = table[slot] - 1;
+            if (hashes[index] == hash && regionEquals(buffer, entries[index * ENTRY_INTS],
+                    entries[index * ENTRY_INTS + 1], key, keyOffset, keyLength)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static void insert(int[] table, int hash, int index) {
+
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private static int[] rehash(int[] hashes, int size, int capacity) {
+
+        final int[] table = new int[capacity];
+        for (int i=0; i<size; i++) {
+            insert(table, hashes[i], i);
+        }
+        return table;
+    }
+
+    /**
+     * Hashes bytes in the same way as {@link String#hashCode()}, so ASCII keys hash the same as
+     * their strings, then spreads the bits as the table is indexed by the low bits.
+     */
+    private static int hash(ByteBuffer bytes, int from, int to) {
+
+        int h = 0;
+        for (int i=from; i<to; i++) {
+            h = 31 * h + bytes.get(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean regionEquals(ByteBuffer a, int aOffset, int aLength, ByteBuffer b, int bOffset,
+            int bLength) {
+
+        if (aLength != bLength) {
+            return false;
+        }
+        for (int i=0; i<aLength; i++) {
+            if (a.get(aOffset + i) != b.get(bOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(ByteBuffer buffer, char c, int from, int to) {
+
+        for (int i=from; i<to; i++) {
+            if (buffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int from, int to, String prefix) {
+
+        if (to - from < prefix.length()) {
+            return false;
+        }
+        for (int i=0; i<prefix.length(); i++) {
+            if (buffer.get(from + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(ByteBuffer buffer, int from, int to) {
+
+        while (from < to && isWhitespace(buffer.get(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimWhitespace(ByteBuffer buffer, int from, int to) {
+
+        while (to > from && isWhitespace(buffer.get(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean hasByteOrderMark(ByteBuffer buffer) {
+        return buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                && buffer.get(2) == (byte) 0xBF;
+    }
+
+}
@@ -16,6 +16,10 @@ public @interface EnvVar {
 
     String envVarName() default "";
 
+    /**
+     * The parsers used in precedence over the default parsers. A new instance of each is created
+     * whenever a value is parsed, so parsers needn't be thread safe.
+     */
     Class<? extends ValueParser<?>>[] customParsers() default {};
 
 }
@@ -0,0 +1,161 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JDK Flight Recorder events, which are only loaded by {@link ConfigEvents} if the
+ * {@code jdk.jfr} module is present.
+ */
+final class FlightRecorderEvents {
+
+    private static final String CATEGORY = "env-config";
+
+    // used to check whether each event is enabled without creating one
+    private static final ConfigCreated CREATION_PROBE = new ConfigCreated();
+    private static final ValueParsed PARSE_PROBE = new ValueParsed();
+    private static final ConfigReloaded RELOAD_PROBE = new ConfigReloaded();
+    private static final ConfigsEvicted EVICTION_PROBE = new ConfigsEvicted();
+
+    private FlightRecorderEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Object beginCreation() {
+        return CREATION_PROBE.isEnabled() ? begin(new ConfigCreated()) : null;
+    }
+
+    static void endCreation(Object event, Optional<String> namespace, Class<?> configType) {
+
+        final ConfigCreated created = (ConfigCreated) event;
+        if (created.shouldCommit()) {
+            created.namespace = namespace.orElse(null);
+            created.configType = configType;
+            created.commit();
+        }
+    }
+
+    static Object beginParse() {
+        return PARSE_PROBE.isEnabled() ? begin(new ValueParsed()) : null;
+    }
+
+    static void endParse(Object event, Optional<String> namespace, Class<?> configType, String methodName,
+            String envVarName, Type targetType) {
+
+        final ValueParsed parsed = (ValueParsed) event;
+        if (parsed.shouldCommit()) {
+            parsed.namespace = namespace.orElse(null);
+            parsed.configType = configType;
+            parsed.methodName = methodName;
+            parsed.envVarName = envVarName;
+            parsed.targetType = targetType.getTypeName();
+            parsed.commit();
+        }
+    }
+
+    static Object beginReload() {
+        return RELOAD_PROBE.isEnabled() ? begin(new ConfigReloaded()) : null;
+    }
+
+    static void endReload(Object event, Optional<String> namespace, Class<?> configType, int changedMethods) {
+
+        final ConfigReloaded reloaded = (ConfigReloaded) event;
+        if (reloaded.shouldCommit()) {
+            reloaded.namespace = namespace.orElse(null);
+            reloaded.configType = configType;
+            reloaded.changedMethods = changedMethods;
+            reloaded.commit();
+        }
+    }
+
+    static void evicted(Optional<String> namespace, Class<?> configType, int evictedConfigs) {
+
+        if (EVICTION_PROBE.isEnabled()) {
+
+            final ConfigsEvicted evicted = new ConfigsEvicted();
+            evicted.namespace = namespace.orElse(null);
+            evicted.configType = configType;
+            evicted.evictedConfigs = evictedConfigs;
+            evicted.commit();
+        }
+    }
+
+    private static Event begin(Event event) {
+        event.begin();
+        return event;
+    }
+
+    @Name("au.com.muel.envconfig.ConfigCreated")
+    @Label("Config Created")
+    @Category(CATEGORY)
+    @Description("A config proxy was created and, unless it's lazy, its values parsed")
+    static final class ConfigCreated extends Event {
+
+        @Label("Namespace")
+        String namespace;
+
+        @Label("Config Type")
+        Class<?> configType;
+    }
+
+    @Name("au.com.muel.envconfig.ValueParsed")
+    @Label("Config Value Parsed")
+    @Category(CATEGORY)
+    @Description("The value of a config method was parsed")
+    static final class ValueParsed extends Event {
+
+        @Label("Namespace")
+        String namespace;
+
+        @Label("Config Type")
+        Class<?> configType;
+
+        @Label("Method")
+        String methodName;
+
+        @Label("Variable Name")
+        String envVarName;
+
+        @Label("Target Type")
+        String targetType;
+    }
+
+    @Name("au.com.muel.envconfig.ConfigReloaded")
+    @Label("Config Reloaded")
+    @Category(CATEGORY)
+    @Description("A reloadable config was reloaded from its source")
+    static final class ConfigReloaded extends Event {
+
+        @Label("Namespace")
+        String namespace;
+
+        @Label("Config Type")
+        Class<?> configType;
+
+        @Label("Changed Methods")
+        int changedMethods;
+    }
+
+    @Name("au.com.muel.envconfig.ConfigsEvicted")
+    @Label("Configs Evicted")
+    @Category(CATEGORY)
+    @Description("Cached configs were cleared, of every type if the config type is missing")
+    static final class ConfigsEvicted extends Event {
+
+        @Label("Namespace")
+        String namespace;
+
+        @Label("Config Type")
+        Class<?> configType;
+
+        @Label("Evicted Configs")
+        int evictedConfigs;
+    }
+
+}
@@ -0,0 +1,18 @@
+package au.com.muel.envconfig;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks a config interface for the env-config annotation processor, which generates an
+ * implementation that {@link EnvConfig} uses instead of a proxy. Interfaces that have methods
+ * annotated with {@link EnvVar} are processed without needing this marker.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateEnvConfig {
+
+}
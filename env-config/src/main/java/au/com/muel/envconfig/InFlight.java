@@ -0,0 +1,67 @@
+package au.com.muel.envconfig;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A value being computed, which is held in a cache in place of the value until it completes. So
+ * concurrent callers wait for the one computation rather than repeating it, and the computation
+ * runs without holding a lock of the cache. A computation that waits for itself, eg a custom parser
+ * that creates the config it's parsing, fails rather than deadlocking.
+ */
+final class InFlight extends FutureTask<Object> {
+
+    private final Object description;
+    private volatile Thread runner;
+
+    /**
+     * @param description describes the value if the computation is recursive
+     */
+    InFlight(Callable<Object> computation, Object description) {
+        super(computation);
+        this.description = description;
+    }
+
+    @Override
+    public void run() {
+
+        runner = Thread.currentThread();
+        try {
+            super.run();
+        } finally {
+            runner = null;
+        }
+    }
+
+    /**
+     * Waits for the value without being interrupted, rethrowing the computation's exception.
+     *
+     * @throws IllegalStateException if called by the computation itself
+     */
+    Object await() throws Throwable {
+
+        if (runner == Thread.currentThread()) {
+            throw new IllegalStateException("Recursive computation of " + description);
+        }
+
+        boolean interrupted = false;
+        try {
+
+            while (true) {
+                try {
+                    return get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A read only config source that combines named layers, eg overrides, the environment and defaults.
+ * Each key resolves to the value in the first layer that defines it, where a key defined as the
+ * empty string still shadows the layers below it. Layers are read as they are, so a key added to
+ * or removed from a layer is seen by the next lookup.
+ *
+ * <p>To read each variable of a config type from the layer that supplies it, rather than probing
+ * the layers on every lookup, use the source {@link #resolve(String, Class) resolved} for the type.
+ * The supplying layers are found once, and again on {@link #refresh()}, eg when a layer's keys
+ * change:
+ *
+ * <pre>{@code
+ * Map<String, String> resolved = source.resolve("MYAPP", MyAppConfig.class);
+ * ReloadableConfig<MyAppConfig> config = EnvConfig.reloadable("MYAPP", MyAppConfig.class, () -> resolved);
+ * directory.addListener(() -> {
+ *     source.refresh();
+ *     config.reload();
+ * });
+ * }</pre>
+ */
+public final class LayeredConfigSource extends AbstractMap<String, String> {
+
+    private static final int UNDEFINED = -1;
+
+    private final List<String> layerNames;
+    private final List<Map<String, String>> layers;
+
+    // the resolved sources of each config type, by upper cased namespace
+    private final ClassValue<ConcurrentMap<Optional<String>, ResolvedSource>> resolved = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Optional<String>, ResolvedSource> computeValue(Class<?> configType) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+    // every resolved source, so that they can all be refreshed
+    private final Set<ResolvedSource> resolvedSources = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private LayeredConfigSource(List<String> layerNames, List<Map<String, String>> layers) {
+        this.layerNames = layerNames;
+        this.layers = layers;
+    }
+
+    /**
+     * Creates a source with a single layer, which takes precedence over any layers added after it.
+     */
+    public static LayeredConfigSource of(String name, Map<String, String> source) {
+        return new LayeredConfigSource(List.of(name), List.of(source));
+    }
+
+    /**
+     * Returns a new source with a layer added below the existing layers.
+     */
+    public LayeredConfigSource then(String name, Map<String, String> source) {
+
+        final List<String> layerNames = new ArrayList<>(this.layerNames);
+        final List<Map<String, String>> layers = new ArrayList<>(this.layers);
+        layerNames.add(Objects.requireNonNull(name));
+        layers.add(Objects.requireNonNull(source));
+        return new LayeredConfigSource(List.copyOf(layerNames), List.copyOf(layers));
+    }
+
+    @Override
+    public String get(Object key) {
+
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        for (Map<String, String> layer : layers) {
+            final String value = layer.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+
+        final Map<String, String> merged = new LinkedHashMap<>();
+        for (Map<String, String> layer : layers) {
+            for (Entry<String, String> entry : layer.entrySet()) {
+                merged.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(merged).entrySet();
+    }
+
+    /**
+     * Returns the name of the layer that supplies the key, if any.
+     */
+    public Optional<String> layerOf(String key) {
+
+        final int layer = layerIndexOf(key);
+        return layer == UNDEFINED ? Optional.empty() : Optional.of(layerNames.get(layer));
+    }
+
+    /**
+     * Returns the name of the layer that currently supplies each method of the config type, breadth
+     * first over the config type's interface hierarchy (the config type's own methods first).
+     * Methods whose variable isn't defined by any layer are omitted.
+     */
+    public Map<String, String> layersOf(Class<?> configType) {
+        return layersOf(Optional.empty(), configType);
+    }
+
+    public Map<String, String> layersOf(String namespace, Class<?> configType) {
+        return layersOf(Optional.of(namespace), configType);
+    }
+
+    /**
+     * Returns a source of the variables that the config type reads, which reads each variable from
+     * the layer that supplies it. The same source is returned for each call, so configs created
+     * from it are cached. The supplying layers are found when it's first resolved and on each
+     * {@link #refresh()}. A changed value is seen straight away, and a variable removed from its
+     * layer is read from the layers below, but a variable added to a higher layer, or to any layer
+     * if it was undefined, is only seen after a refresh.
+     */
+    public Map<String, String> resolve(Class<?> configType) {
+        return resolve(Optional.empty(), configType);
+    }
+
+    public Map<String, String> resolve(String namespace, Class<?> configType) {
+        return resolve(Optional.of(namespace), configType);
+    }
+
+    /**
+     * Finds the layer that supplies each variable of every resolved source again.
+     */
+    public void refresh() {
+        for (ResolvedSource source : resolvedSources) {
+            source.refresh();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LayeredConfigSource" + layerNames;
+    }
+
+    private Map<String, String> layersOf(Optional<String> namespace, Class<?> configType) {
+
+        final List<Method> methods = DispatchTable.forType(configType).methods();
+        final List<String> envVarNames = ConfigPlan.forType(configType).envVarNames(namespace);
+
+        final Map<String, String> layersOf = new LinkedHashMap<>();
+        for (int i=0; i<methods.size(); i++) {
+            final String methodName = methods.get(i).getName();
+            layerOf(envVarNames.get(i)).ifPresent(layer -> layersOf.put(methodName, layer));
+        }
+        return Collections.unmodifiableMap(layersOf);
+    }
+
+    private Map<String, String> resolve(Optional<String> namespace, Class<?> configType) {
+
+        return resolved.get(configType).computeIfAbsent(namespace.map(String::toUpperCase), n -> {
+
+            final ResolvedSource source = new ResolvedSource(ConfigPlan.forType(configType).envVarNames(namespace));
+            resolvedSources.add(source);
+            return source;
+        });
+    }
+
+    /**
+     * Returns the index of the first layer that defines the key, or {@link #UNDEFINED}.
+     */
+    private int layerIndexOf(String key) {
+        return layerIndexOf(key, 0);
+    }
+
+    /**
+     * Returns the index of the first layer from the given layer that defines the key, or
+     * {@link #UNDEFINED}.
+     */
+    private int layerIndexOf(String key, int fromLayer) {
+
+        for (int i=fromLayer; i<layers.size(); i++) {
+            if (layers.get(i).get(key) != null) {
+                return i;
+            }
+        }
+        return UNDEFINED;
+    }
+
+    /**
+     * The variables of a config type in a namespace, each read from the layer that was found to
+     * supply it.
+     */
+    private final class ResolvedSource extends AbstractMap<String, String> {
+
+        private final Set<String> envVarNames;
+        private volatile Map<String, Integer> layerIndexes;
+
+        ResolvedSource(List<String> envVarNames) {
+            this.envVarNames = Collections.unmodifiableSet(new LinkedHashSet<>(envVarNames));
+            refresh();
+        }
+
+        void refresh() {
+
+            final Map<String, Integer> layerIndexes = new HashMap<>();
+            for (String envVarName : envVarNames) {
+                layerIndexes.put(envVarName, layerIndexOf(envVarName));
+            }
+            this.layerIndexes = layerIndexes;
+        }
+
+        @Override
+        public String get(Object key) {
+
+            final Integer layer = layerIndexes.get(key);
+            if (layer == null || layer == UNDEFINED) {
+                return null;
+            }
+
+            final String value = layers.get(layer).get(key);
+            if (value != null) {
+                return value;
+            }
+
+            // removed from its layer, so it's read from a lower layer if one defines it
+            final int lowerLayer = layerIndexOf((String) key, layer + 1);
+            return lowerLayer == UNDEFINED ? null : layers.get(lowerLayer).get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+
+            final Map<String, String> values = new LinkedHashMap<>();
+            for (String envVarName : envVarNames) {
+                final String value = get(envVarName);
+                if (value != null) {
+                    values.put(envVarName, value);
+                }
+            }
+            return Collections.unmodifiableMap(values).entrySet();
+        }
+
+        @Override
+        public String toString() {
+            return LayeredConfigSource.this.toString() + envVarNames;
+        }
+    }
+
+}
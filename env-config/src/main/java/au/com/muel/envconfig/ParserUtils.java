@@ -0,0 +1,70 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+public final class ParserUtils {
+
+    private ParserUtils() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    public static <T> ValueParser<T> fromFunction(final Function<String, ? extends T> function) {
+        return (value, converters, paramTypes) -> function.apply(value);
+    }
+
+    public static Stream<String> tokenise(String value, int splittingChar) {
+        return split(value, splittingChar).stream();
+    }
+
+    /**
+     * Splits the value into tokens delimited by the splitting char (a code point). Empty tokens are
+     * retained, so {@code "a,,b"} has three tokens and {@code ""} has one.
+     */
+    public static List<String> split(String value, int splittingChar) {
+
+        final List<String> tokens = new ArrayList<>();
+        final int delimiterLength = Character.charCount(splittingChar);
+        int start = 0;
+        int end;
+        while ((end = value.indexOf(splittingChar, start)) >= 0) {
+
+            tokens.add(value.substring(start, end));
+            start = end + delimiterLength;
+        }
+        tokens.add(value.substring(start));
+
+        return tokens;
+    }
+
+    public static <T extends Collection<?>> ValueParser<T> genericTypeParser(Collector<Object, ?, T> collector,
+            Function<T, T> immutabilityFunction) {
+
+        return (value, parsers, types) -> immutabilityFunction.apply(collect(value, parsers, types[0], collector));
+    }
+
+    private static <A, T> T collect(String value, TypeConverter converter, Type elementType,
+            Collector<Object, A, T> collector) {
+
+        final A container = collector.supplier().get();
+        final BiConsumer<A, Object> accumulator = collector.accumulator();
+        int start = 0;
+        int end;
+        while ((end = value.indexOf(',', start)) >= 0) {
+
+            accumulator.accept(container, converter.convert(elementType, value.substring(start, end)));
+            start = end + 1;
+        }
+        accumulator.accept(container, converter.convert(elementType, value.substring(start)));
+
+        return collector.finisher().apply(container);
+    }
+
+}
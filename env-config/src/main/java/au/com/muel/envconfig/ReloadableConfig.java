@@ -0,0 +1,206 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds a config that can be reloaded from its source. Each reload creates a new immutable config,
+ * reusing the parsed values of variables that haven't changed, and then swaps it in atomically.
+ * {@link #get()} is a single volatile read, so readers never lock or see a partly reloaded config.
+ */
+public final class ReloadableConfig<T> {
+
+    private final EnvConfigLoader loader;
+    private final Optional<String> namespace;
+    private final Class<T> configType;
+    private final Supplier<? extends Map<String, String>> configSource;
+    private final List<String> envVarNames;
+    private final List<ConfigChangeListener<? super T>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot<T> snapshot;
+
+    ReloadableConfig(EnvConfigLoader loader, Optional<String> namespace, Class<T> configType,
+            Supplier<? extends Map<String, String>> configSource) {
+
+        this.loader = Objects.requireNonNull(loader);
+        this.namespace = Objects.requireNonNull(namespace);
+        this.configType = Objects.requireNonNull(configType);
+        this.configSource = Objects.requireNonNull(configSource);
+        this.envVarNames = ConfigPlan.forType(configType).envVarNames(namespace);
+        this.snapshot = load(null, readSource());
+    }
+
+    /**
+     * Returns the current config.
+     */
+    public T get() {
+        return snapshot.config;
+    }
+
+    public void addListener(ConfigChangeListener<? super T> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(ConfigChangeListener<? super T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reads the source and, if any variable the config reads has changed, swaps in a new config and
+     * notifies the listeners. Only the changed variables are parsed.
+     *
+     * @return the names of the config methods whose values changed
+     * @throws IllegalStateException if a changed value is invalid, in which case the current config
+     * is kept
+     * @throws EnvConfigException if any listener threw, with each listener's exception suppressed,
+     * after every listener has been notified. The new config has still been swapped in.
+     */
+    public List<String> reload() {
+
+        final List<RuntimeException> failures = new ArrayList<>();
+        final List<String> changedMethods = reload(failures::add);
+        if (!failures.isEmpty()) {
+
+            final EnvConfigException e = new EnvConfigException(String.format(
+                    "%d listener(s) failed after reloading %s with changes to %s", failures.size(), this,
+                    changedMethods));
+            failures.forEach(e::addSuppressed);
+            throw e;
+        }
+        return changedMethods;
+    }
+
+    /**
+     * Reloads the config, passing any exception thrown by a listener to the failure handler.
+     */
+    private synchronized List<String> reload(Consumer<RuntimeException> listenerFailures) {
+
+        final Object event = ConfigEvents.beginReload();
+        final Snapshot<T> previous = snapshot;
+        final Snapshot<T> current = load(previous, readSource());
+        if (current == previous) {
+            ConfigEvents.endReload(event, namespace, configType, 0);
+            return Collections.emptyList();
+        }
+
+        snapshot = current;
+        ConfigEvents.endReload(event, namespace, configType, current.changedMethods.size());
+        notifyListeners(listener -> listener.onChange(previous.config, current.config, current.changedMethods),
+                listenerFailures);
+        return current.changedMethods;
+    }
+
+    /**
+     * Reloads the config with a fixed delay between reloads, until the returned future is cancelled.
+     * A failed reload is reported to the listeners and doesn't stop later reloads. A listener that
+     * throws is reported to the scheduler thread's uncaught exception handler.
+     */
+    public ScheduledFuture<?> reloadEvery(ScheduledExecutorService scheduler, Duration period) {
+
+        final long nanos = period.toNanos();
+        return scheduler.scheduleWithFixedDelay(() -> {
+
+            try {
+                reload(ReloadableConfig::reportUncaught);
+            } catch (RuntimeException e) {
+                notifyListeners(listener -> listener.onReloadFailure(e), ReloadableConfig::reportUncaught);
+            }
+        }, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s<Reloadable:%s>", configType.getSimpleName(), namespace);
+    }
+
+    /**
+     * Notifies every listener, passing those that throw to the failure handler so that they don't
+     * stop the others being notified.
+     */
+    private void notifyListeners(Consumer<ConfigChangeListener<? super T>> notification,
+            Consumer<RuntimeException> listenerFailures) {
+
+        for (ConfigChangeListener<? super T> listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                listenerFailures.accept(e);
+            }
+        }
+    }
+
+    private static void reportUncaught(RuntimeException e) {
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    private Map<String, String> readSource() {
+        return Objects.requireNonNull(configSource.get(), "Config source returned null");
+    }
+
+    /**
+     * Creates a snapshot of the source, or returns the previous snapshot if nothing it reads changed.
+     */
+    private Snapshot<T> load(Snapshot<T> previous, Map<String, String> source) {
+
+        final String[] rawValues = new String[envVarNames.size()];
+        for (int i=0; i<rawValues.length; i++) {
+            rawValues[i] = source.get(envVarNames.get(i));
+        }
+
+        final DefaultInvocationHandler handler = new DefaultInvocationHandler(namespace, configType, source, envVarNames,
+                loader.interner(), loader.isProfiled());
+        final List<String> changedMethods = new ArrayList<>();
+        if (previous != null) {
+
+            final List<Method> methods = handler.configMethods();
+            for (int i=0; i<rawValues.length; i++) {
+
+                if (!Objects.equals(previous.rawValues[i], rawValues[i])) {
+                    changedMethods.add(methods.get(i).getName());
+                    continue;
+                }
+
+                final Object value = previous.handler.resolvedValue(i);
+                if (value != null) {
+                    handler.preset(i, value);
+                }
+            }
+
+            if (changedMethods.isEmpty()) {
+                return previous;
+            }
+        }
+
+        final T config = EnvConfig.createConfig(loader, configType, handler);
+        return new Snapshot<>(config, handler, rawValues, Collections.unmodifiableList(changedMethods));
+    }
+
+    private static final class Snapshot<T> {
+
+        final T config;
+        final DefaultInvocationHandler handler;
+        final String[] rawValues;
+        final List<String> changedMethods;
+
+        Snapshot(T config, DefaultInvocationHandler handler, String[] rawValues, List<String> changedMethods) {
+            this.config = config;
+            this.handler = handler;
+            this.rawValues = rawValues;
+            this.changedMethods = changedMethods;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Type;
+
+public interface TypeConverter {
+
+    Object convert(Type targetType, String value);
+
+    /**
+     * Converts the value to an {@code int}, without boxing if the registered parser is a
+     * {@link ValueParser.OfInt}.
+     */
+    default int convertInt(String value) {
+        return (Integer) convert(int.class, value);
+    }
+
+    default long convertLong(String value) {
+        return (Long) convert(long.class, value);
+    }
+
+    default double convertDouble(String value) {
+        return (Double) convert(double.class, value);
+    }
+
+    default boolean convertBoolean(String value) {
+        return (Boolean) convert(boolean.class, value);
+    }
+
+}
@@ -0,0 +1,187 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Shares parsed values between configs, so that a value parsed from the same string to the same
+ * type is parsed once and held once. Only immutable values are shared, ie those of the built-in
+ * scalar types, enums, and {@code Optional}, {@code List}, {@code Set} and {@code Map} of those.
+ * The values are split between up to 16 stripes by hash, each with its own lock and its share of
+ * the maximum, so that configs created in parallel don't contend on one lock. The least recently
+ * used values of a stripe are evicted once it holds more than its share.
+ */
+final class ValueInterner {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+            Double.class, String.class, BigInteger.class, BigDecimal.class, URI.class, URL.class,
+            Duration.class, Period.class, Instant.class, LocalTime.class, LocalDate.class, LocalDateTime.class,
+            ZonedDateTime.class, OffsetTime.class, OffsetDateTime.class, MonthDay.class, Year.class,
+            YearMonth.class);
+
+    private static final Set<Type> IMMUTABLE_CONTAINERS = Set.of(Optional.class, List.class, Set.class, Map.class);
+
+    private static final int MAX_STRIPES = 16;
+
+    // so that small interners evict in strict LRU order, and their stripes don't fill unevenly
+    private static final int MIN_STRIPE_VALUES = 64;
+
+    private final Map<Key, Object>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    ValueInterner(int maxValues) {
+
+        if (maxValues <= 0) {
+            throw new IllegalArgumentException("The maximum number of values must be positive: " + maxValues);
+        }
+
+        // a power of two, so that a stripe is selected by masking the hash
+        int stripeCount = 1;
+        while (stripeCount < MAX_STRIPES && maxValues / (stripeCount * 2) >= MIN_STRIPE_VALUES) {
+            stripeCount *= 2;
+        }
+
+        this.stripes = new Map[stripeCount];
+        for (int i=0; i<stripeCount; i++) {
+
+            // the remainder is spread over the first stripes, so that they hold the maximum between them
+            final int stripeValues = maxValues / stripeCount + (i < maxValues % stripeCount ? 1 : 0);
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                    return size() > stripeValues;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the value previously parsed from the string to the type if there is one, otherwise
+     * parses it. Values of types that may be mutable are always parsed and never shared.
+     */
+    Object intern(Type targetType, String value, Supplier<Object> parser) {
+
+        if (value == null || !isImmutable(targetType)) {
+            return parser.get();
+        }
+
+        final Key key = new Key(targetType, value);
+        final Map<Key, Object> values = stripeOf(key);
+        synchronized (values) {
+            final Object interned = values.get(key);
+            if (interned != null) {
+                return interned;
+            }
+        }
+
+        // parsed outside the lock, so that parsing one value doesn't hold up the others
+        final Object parsed = parser.get();
+        synchronized (values) {
+            final Object interned = values.putIfAbsent(key, parsed);
+            return interned == null ? parsed : interned;
+        }
+    }
+
+    int size() {
+
+        int size = 0;
+        for (Map<Key, Object> values : stripes) {
+            synchronized (values) {
+                size += values.size();
+            }
+        }
+        return size;
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    static boolean isImmutable(Type type) {
+
+        if (type instanceof Class<?>) {
+            final Class<?> clazz = (Class<?>) type;
+            return clazz.isPrimitive() || clazz.isEnum() || IMMUTABLE_TYPES.contains(clazz)
+                    || ZoneId.class.isAssignableFrom(clazz);
+        }
+
+        if (type instanceof ParameterizedType) {
+
+            final ParameterizedType paramType = (ParameterizedType) type;
+            if (!IMMUTABLE_CONTAINERS.contains(paramType.getRawType())) {
+                return false;
+            }
+
+            for (Type typeArg : paramType.getActualTypeArguments()) {
+                if (!isImmutable(typeArg)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    private Map<Key, Object> stripeOf(Key key) {
+
+        // spreads the high bits into the low bits that select the stripe, as HashMap does
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Key {
+
+        private final Type type;
+        private final String value;
+
+        Key(Type type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return type.equals(other.type) && value.equals(other.value);
+        }
+    }
+
+}
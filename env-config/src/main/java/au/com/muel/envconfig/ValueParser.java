@@ -0,0 +1,66 @@
+package au.com.muel.envconfig;
+
+import java.lang.reflect.Type;
+
+@FunctionalInterface
+public interface ValueParser<T> {
+
+    T parse(String value, TypeConverter typeConverter, Type... paramTypes);
+
+    /**
+     * A parser of {@code int} values, which can be used without boxing, eg to fill an {@code int[]}.
+     */
+    @FunctionalInterface
+    interface OfInt extends ValueParser<Integer> {
+
+        int parseInt(String value);
+
+        @Override
+        default Integer parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return parseInt(value);
+        }
+    }
+
+    /**
+     * A parser of {@code long} values, which can be used without boxing.
+     */
+    @FunctionalInterface
+    interface OfLong extends ValueParser<Long> {
+
+        long parseLong(String value);
+
+        @Override
+        default Long parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return parseLong(value);
+        }
+    }
+
+    /**
+     * A parser of {@code double} values, which can be used without boxing.
+     */
+    @FunctionalInterface
+    interface OfDouble extends ValueParser<Double> {
+
+        double parseDouble(String value);
+
+        @Override
+        default Double parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return parseDouble(value);
+        }
+    }
+
+    /**
+     * A parser of {@code boolean} values, which can be used without boxing.
+     */
+    @FunctionalInterface
+    interface OfBoolean extends ValueParser<Boolean> {
+
+        boolean parseBoolean(String value);
+
+        @Override
+        default Boolean parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return parseBoolean(value);
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package au.com.muel.envconfig;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves the value of a config method from its variable, in the same way for proxies, generated
+ * classes and implementations compiled by the annotation processor: the variable is looked up,
+ * falling back to the default value, then parsed or shared through the interner, with the parse
+ * recorded as a JFR event and reported to the metrics listener.
+ */
+final class ValueResolver {
+
+    private ValueResolver() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the value, or the default value if the value is missing or empty.
+     */
+    static String valueOrDefault(String value, String defaultValue) {
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Resolves the value of the method.
+     *
+     * @param nameNanos the time taken to resolve the variable name, if it was timed
+     * @param lookup returns the value of a variable, or its default value
+     * @param parser parses the value to the target type
+     * @param interner the interner to share the value through, or null if it mustn't be shared
+     * @throws EnvConfigException if the value couldn't be parsed
+     */
+    static Object resolve(Class<?> configType, Optional<String> namespace, String methodName, Type targetType,
+            String envVarName, long nameNanos, UnaryOperator<String> lookup, Function<String, Object> parser,
+            ValueInterner interner) {
+
+        // nothing's timed without a listener
+        final ConfigMetricsListener listener = EnvConfig.metricsListener();
+        final long start = listener == null ? 0 : System.nanoTime();
+        final String envVarValue = lookup.apply(envVarName);
+        final long lookedUp = listener == null ? 0 : System.nanoTime();
+
+        final Object event = ConfigEvents.beginParse();
+        final Object value;
+        try {
+
+            if (interner != null) {
+                value = interner.intern(targetType, envVarValue, () -> parser.apply(envVarValue));
+            } else {
+                value = parser.apply(envVarValue);
+            }
+        } catch (EnvConfigException e) {
+
+            throw e;
+        } catch (RuntimeException e) {
+
+            final String msg = format("failed to parse \"%s\" for %s (%s)", envVarValue, envVarName, e.toString());
+            throw new EnvConfigException(msg);
+        }
+
+        ConfigEvents.endParse(event, namespace, configType, methodName, envVarName, targetType);
+        if (listener != null) {
+            listener.onMethodResolved(configType, methodName, nameNanos, lookedUp - start,
+                    System.nanoTime() - lookedUp, ConfigMetrics.sizeOf(value));
+        }
+
+        return value;
+    }
+
+}
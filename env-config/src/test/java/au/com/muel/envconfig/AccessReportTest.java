@@ -0,0 +1,98 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+
+class AccessReportTest {
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testAccessCounts() {
+
+        final ProfiledConfig config = EnvConfig.profiled().generated()
+                .fromConfigSource(ProfiledConfig.class, ImmutableMap.of("HOST", "localhost", "PORT", "80"));
+        assertTrue(Proxy.isProxyClass(config.getClass()));
+
+        // reads when the config is created aren't counted
+        assertEquals(ImmutableList.of("host", "port", "timeout"), EnvConfig.accessReport(ProfiledConfig.class).neverRead());
+
+        for (int i=0; i<3; i++) {
+            config.port();
+        }
+        config.host();
+
+        final AccessReport report = EnvConfig.accessReport(ProfiledConfig.class);
+        assertEquals(ImmutableMap.of("host", 1L, "port", 3L, "timeout", 0L), report.counts());
+        assertEquals(ImmutableList.of("port", "host"), report.hottest(5));
+        assertEquals(ImmutableList.of("port"), report.hottest(1));
+        assertEquals(ImmutableList.of("timeout"), report.neverRead());
+    }
+
+    interface ProfiledConfig {
+        String host();
+        int port();
+        @EnvVar(defaultValue = "30")
+        int timeout();
+    }
+
+    @Test
+    void testProfiledAfterUnprofiledCached() {
+
+        final Map<String, String> envVars = ImmutableMap.of("HOST", "localhost");
+        final CachedConfig config = EnvConfig.fromConfigSource(CachedConfig.class, envVars);
+        final CachedConfig generated = EnvConfig.generated().fromConfigSource(CachedConfig.class, envVars);
+        assertFalse(Proxy.isProxyClass(generated.getClass()));
+        assertNotSame(config, generated);
+
+        final CachedConfig profiled = EnvConfig.profiled().fromConfigSource(CachedConfig.class, envVars);
+        assertTrue(Proxy.isProxyClass(profiled.getClass()));
+        assertNotSame(config, profiled);
+
+        profiled.host();
+        profiled.host();
+        assertEquals(ImmutableMap.of("host", 2L), EnvConfig.accessReport(CachedConfig.class).counts());
+
+        // generated makes no difference to profiled configs, which are always proxies
+        assertSame(profiled, EnvConfig.profiled().generated().fromConfigSource(CachedConfig.class, envVars));
+        assertSame(generated, EnvConfig.generated().fromConfigSource(CachedConfig.class, envVars));
+        assertNotSame(config, EnvConfig.interned(16).fromConfigSource(CachedConfig.class, envVars));
+    }
+
+    interface CachedConfig {
+        String host();
+    }
+
+    @Test
+    void testLazyValidationNotCounted() {
+
+        final LazyProfiledConfig config = EnvConfig.profiled().lazy()
+                .fromConfigSource(LazyProfiledConfig.class, ImmutableMap.of("NAMES", "a,b"));
+        EnvConfig.validate(config);
+        assertEquals(ImmutableList.of("a", "b"), config.names());
+
+        assertEquals(ImmutableMap.of("names", 1L), EnvConfig.accessReport(LazyProfiledConfig.class).counts());
+    }
+
+    interface LazyProfiledConfig {
+        List<String> names();
+    }
+
+}
@@ -0,0 +1,78 @@
+package au.com.muel.envconfig;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableMap;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+class ConfigEventsTest {
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testEvents(@TempDir Path dir) throws IOException {
+
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+
+            recording.enable("au.com.muel.envconfig.ConfigCreated").withThreshold(Duration.ZERO);
+            recording.enable("au.com.muel.envconfig.ValueParsed").withThreshold(Duration.ZERO);
+            recording.enable("au.com.muel.envconfig.ConfigsEvicted");
+            recording.start();
+
+            EnvConfig.fromConfigSource("app", SecretConfig.class, ImmutableMap.of("APP_PASSWORD", "hunter2"));
+            EnvConfig.clear(Optional.of("app"), SecretConfig.class);
+
+            recording.stop();
+            final Path file = dir.resolve("events.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            assertFalse(Files.readString(file, ISO_8859_1).contains("hunter2"));
+        }
+
+        final List<RecordedEvent> created = eventsNamed(events, "au.com.muel.envconfig.ConfigCreated");
+        assertEquals(1, created.size());
+        assertEquals("app", created.get(0).getString("namespace"));
+        assertEquals(SecretConfig.class.getName(), created.get(0).getClass("configType").getName());
+
+        final List<RecordedEvent> parsed = eventsNamed(events, "au.com.muel.envconfig.ValueParsed");
+        assertEquals(1, parsed.size());
+        assertEquals("password", parsed.get(0).getString("methodName"));
+        assertEquals("APP_PASSWORD", parsed.get(0).getString("envVarName"));
+        assertEquals("java.lang.String", parsed.get(0).getString("targetType"));
+
+        final List<RecordedEvent> evicted = eventsNamed(events, "au.com.muel.envconfig.ConfigsEvicted");
+        assertEquals(1, evicted.size());
+        assertEquals(1, evicted.get(0).getInt("evictedConfigs"));
+    }
+
+    interface SecretConfig {
+        String password();
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+}
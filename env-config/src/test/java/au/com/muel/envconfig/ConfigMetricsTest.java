@@ -0,0 +1,149 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+
+class ConfigMetricsTest {
+
+    @AfterEach
+    void removeListener() {
+        EnvConfig.setMetricsListener(null);
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testStats() {
+
+        final ConfigMetrics metrics = new ConfigMetrics();
+        EnvConfig.setMetricsListener(metrics);
+
+        final ImmutableMap<String, String> envVars = ImmutableMap.of("A_HOSTS", "a,b,c", "A_NAME", "app",
+                "B_HOSTS", "d", "B_NAME", "other");
+        EnvConfig.fromConfigSource("a", MetricsConfig.class, envVars);
+        EnvConfig.fromConfigSource("a", MetricsConfig.class, envVars);
+        EnvConfig.fromConfigSource("b", MetricsConfig.class, envVars);
+
+        final ConfigMetrics.Stats stats = metrics.getStats();
+        assertEquals(1, stats.cacheHits());
+        assertEquals(2, stats.cacheMisses());
+        assertEquals(2, stats.proxyCreations());
+        assertEquals(3, stats.methods().size());
+
+        for (ConfigMetrics.MethodStats method : stats.methods()) {
+
+            assertEquals(MetricsConfig.class, method.configType());
+            assertEquals(2, method.resolutions());
+            assertTrue(method.totalNanos() > 0, method.toString());
+        }
+
+        final ConfigMetrics.MethodStats hosts = stats.methods().stream()
+                .filter(m -> m.methodName().equals("hosts")).findFirst().get();
+        assertEquals(3, hosts.maxResultSize());
+    }
+
+    @Test
+    void testBulkCreationParsesWithoutProxies() {
+
+        final ConfigMetrics metrics = new ConfigMetrics();
+        EnvConfig.setMetricsListener(metrics);
+
+        final ImmutableMap<String, String> envVars = ImmutableMap.of("A_HOSTS", "a,b,c", "A_NAME", "app",
+                "B_HOSTS", "d", "B_NAME", "other");
+        EnvConfig.fromConfigSource(List.of("a", "b"), MetricsConfig.class, envVars);
+
+        final ConfigMetrics.Stats stats = metrics.getStats();
+        assertEquals(2, stats.cacheMisses());
+        assertEquals(0, stats.proxyCreations());
+        assertEquals(3, stats.methods().size());
+        for (ConfigMetrics.MethodStats method : stats.methods()) {
+            assertEquals(2, method.resolutions());
+        }
+    }
+
+    @Test
+    void testInFlightCreationIsMiss() throws Exception {
+
+        final List<Boolean> cacheHits = new CopyOnWriteArrayList<>();
+        final CountDownLatch requested = new CountDownLatch(2);
+        EnvConfig.setMetricsListener(new ConfigMetricsListener() {
+            @Override
+            public void onConfigRequested(Class<?> configType, boolean cacheHit) {
+                cacheHits.add(cacheHit);
+                requested.countDown();
+            }
+        });
+
+        // the second request finds the first's creation still in flight, so waits for it
+        final Map<String, String> envVars = ImmutableMap.of("VALUE", "x");
+        final CompletableFuture<BlockingConfig> first = CompletableFuture.supplyAsync(
+                () -> EnvConfig.fromConfigSource(BlockingConfig.class, envVars));
+        assertTrue(BlockingParser.ENTERED.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<BlockingConfig> second = CompletableFuture.supplyAsync(
+                () -> EnvConfig.fromConfigSource(BlockingConfig.class, envVars));
+        assertTrue(requested.await(10, TimeUnit.SECONDS));
+        BlockingParser.RELEASED.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals(List.of(false, false), cacheHits);
+
+        EnvConfig.fromConfigSource(BlockingConfig.class, envVars);
+        assertEquals(List.of(false, false, true), cacheHits);
+    }
+
+    interface BlockingConfig {
+
+        @EnvVar(customParsers = BlockingParser.class)
+        String value();
+    }
+
+    static class BlockingParser implements ValueParser<String> {
+
+        static final CountDownLatch ENTERED = new CountDownLatch(1);
+        static final CountDownLatch RELEASED = new CountDownLatch(1);
+
+        @Override
+        public String parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+
+            ENTERED.countDown();
+            try {
+                RELEASED.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        }
+    }
+
+    interface MetricsConfig {
+        List<String> hosts();
+        String name();
+        Optional<Integer> port();
+    }
+
+    @Test
+    void testResultSizes() {
+
+        assertEquals(3, ConfigMetrics.sizeOf(List.of(1, 2, 3)));
+        assertEquals(2, ConfigMetrics.sizeOf(new int[2]));
+        assertEquals(4, ConfigMetrics.sizeOf("abcd"));
+        assertEquals(0, ConfigMetrics.sizeOf(Optional.empty()));
+        assertEquals(1, ConfigMetrics.sizeOf(8080));
+    }
+
+}
@@ -0,0 +1,55 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+
+class ConfigSourceIndexTest {
+
+    private final ConfigSourceIndex index = ConfigSourceIndex.of(ImmutableMap.<String, String>builder()
+            .put("PATH", "/bin")
+            .put("APP_HOST", "localhost")
+            .put("APP_PORT", "80")
+            .put("APP_PROT", "http")
+            .put("APPLE", "red")
+            .put("APP", "app")
+            .put("OTHER_HOST", "example.com")
+            .build());
+
+    @Test
+    void testKeysWithPrefix() {
+
+        assertEquals(7, index.size());
+        assertEquals(ImmutableList.of("APP", "APPLE", "APP_HOST", "APP_PORT", "APP_PROT"), index.keysWithPrefix("APP"));
+        assertEquals(ImmutableList.of("APP_PORT", "APP_PROT"), index.keysWithPrefix("APP_P"));
+        assertEquals(ImmutableList.of(), index.keysWithPrefix("ZZZ"));
+        assertEquals(ImmutableList.of(), index.keysWithPrefix("A_"));
+    }
+
+    @Test
+    void testKeysUnder() {
+
+        assertEquals(ImmutableList.of("APP_HOST", "APP_PORT", "APP_PROT"), index.keysUnder("app"));
+        assertEquals(ImmutableList.of("OTHER_HOST"), index.keysUnder("OTHER"));
+    }
+
+    @Test
+    void testUnusedUnder() {
+
+        assertEquals(ImmutableList.of("APP_PROT"), index.unusedUnder("app", HostConfig.class, PortConfig.class));
+        assertEquals(ImmutableList.of("APP_HOST", "APP_PROT"), index.unusedUnder("app", PortConfig.class));
+    }
+
+    interface HostConfig {
+        String host();
+    }
+
+    interface PortConfig {
+        int port();
+    }
+
+}
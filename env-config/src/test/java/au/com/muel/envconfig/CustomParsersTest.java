@@ -0,0 +1,184 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+
+class CustomParsersTest {
+
+    @Test
+    void testNewInstance() {
+
+        final ValueParser<?> parser = CustomParsers.newInstance(PrivateLocaleParser.class);
+        assertEquals(Locale.FRENCH, parser.parse("fr", null));
+        assertNotSame(parser, CustomParsers.newInstance(PrivateLocaleParser.class));
+        assertEquals(Locale.class, CustomParsers.parsedType(PrivateLocaleParser.class));
+    }
+
+    @Test
+    void testNewInstanceErrors() {
+
+        EnvConfigException e = assertThrows(EnvConfigException.class,
+                () -> CustomParsers.newInstance(PrefixParser.class));
+        assertEquals("Custom ValueParser is missing a no-args construction: " + PrefixParser.class, e.getMessage());
+
+        e = assertThrows(EnvConfigException.class, () -> CustomParsers.newInstance(FailingParser.class));
+        assertTrue(e.getMessage().startsWith("Custom ValueParser could not be instantiated: " + FailingParser.class
+                + " (java.lang.IllegalStateException: no locales"), e.getMessage());
+    }
+
+    @Test
+    void testSharedAcrossMethods() {
+
+        final LocaleConfig config = EnvConfig.fromConfigSource(LocaleConfig.class,
+                ImmutableMap.of("LANGUAGE", "fr", "FALLBACK", "de"));
+
+        assertEquals(Locale.FRENCH, config.language());
+        assertEquals(Locale.GERMAN, config.fallback());
+    }
+
+    @Test
+    void testParserCreatedPerResolution() {
+
+        final TypeConverter converter = CustomParsers.converter(classes(CountingLocaleParser.class));
+        assertNotSame(converter, CustomParsers.converter(classes(CountingLocaleParser.class)));
+        assertSame(CustomParsers.converter(classes()), CustomParsers.converter(classes()));
+
+        final int created = CountingLocaleParser.CREATED.get();
+        for (String language : new String[] {"fr", "de", "it"}) {
+
+            final CountingConfig config = EnvConfig.fromConfigSource(CountingConfig.class,
+                    ImmutableMap.of("LANGUAGE", language, "FALLBACK", "en"));
+            assertEquals(new Locale(language), config.language());
+            assertEquals(Locale.ENGLISH, config.fallback());
+        }
+        assertEquals(created + 6, CountingLocaleParser.CREATED.get());
+    }
+
+    @Test
+    void testParsersNotShared() {
+
+        final StatefulConfig config = EnvConfig.fromConfigSource(StatefulConfig.class,
+                ImmutableMap.of("FIRST", "a", "SECOND", "b"));
+
+        assertEquals("a1", config.first());
+        assertEquals("b1", config.second());
+    }
+
+    @Test
+    void testFailedConverterNotCached() {
+
+        EnvConfigException e = assertThrows(EnvConfigException.class,
+                () -> CustomParsers.converter(classes(FailingParser.class)));
+        assertTrue(e.getMessage().startsWith("Custom ValueParser could not be instantiated"), e.getMessage());
+
+        e = assertThrows(EnvConfigException.class, () -> CustomParsers.converter(classes(FailingParser.class)));
+        assertTrue(e.getMessage().startsWith("Custom ValueParser could not be instantiated"), e.getMessage());
+    }
+
+    @SafeVarargs
+    private static Class<? extends ValueParser<?>>[] classes(Class<? extends ValueParser<?>>... parserClasses) {
+        return parserClasses;
+    }
+
+    interface CountingConfig {
+
+        @EnvVar(customParsers = CountingLocaleParser.class)
+        Locale language();
+
+        @EnvVar(customParsers = CountingLocaleParser.class)
+        Locale fallback();
+    }
+
+    static class CountingLocaleParser implements ValueParser<Locale> {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        CountingLocaleParser() {
+            CREATED.incrementAndGet();
+        }
+
+        @Override
+        public Locale parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return new Locale(value);
+        }
+    }
+
+    interface StatefulConfig {
+
+        @EnvVar(customParsers = CountingParser.class)
+        String first();
+
+        @EnvVar(customParsers = CountingParser.class)
+        String second();
+    }
+
+    // isn't thread safe, and would number the second value 2 if it were shared
+    static class CountingParser implements ValueParser<String> {
+
+        private int parsed;
+
+        @Override
+        public String parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return value + ++parsed;
+        }
+    }
+
+    interface LocaleConfig {
+
+        @EnvVar(customParsers = PrivateLocaleParser.class)
+        Locale language();
+
+        @EnvVar(customParsers = PrivateLocaleParser.class)
+        Locale fallback();
+    }
+
+    static class PrivateLocaleParser implements ValueParser<Locale> {
+
+        private PrivateLocaleParser() {
+        }
+
+        @Override
+        public Locale parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return new Locale(value);
+        }
+    }
+
+    static class PrefixParser implements ValueParser<String> {
+
+        private final String prefix;
+
+        PrefixParser(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return prefix + value;
+        }
+    }
+
+    static class FailingParser implements ValueParser<Locale> {
+
+        FailingParser() {
+            throw new IllegalStateException("no locales");
+        }
+
+        @Override
+        public Locale parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return null;
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.DateTimeException;
@@ -26,6 +27,9 @@ import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -35,6 +39,9 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
 
 class DefaultParserRegistryTest {
 
@@ -227,4 +234,92 @@ class DefaultParserRegistryTest {
         assertThrows(DateTimeException.class, () -> registry.parserForType(clazz).get().parse("", tc));
     }
 
+    @Test
+    void testSharedDefaultsAreFrozen() {
+
+        final ParserRegistry shared = DefaultParserRegistry.sharedDefaults();
+
+        assertEquals(10, shared.parserForType(int.class).get().parse("10", tc));
+        assertThrows(UnsupportedOperationException.class,
+                () -> shared.registerCustomParsers(new NegatingIntegerParser()));
+    }
+
+    @Test
+    void testCustomParsersAreIsolated() {
+
+        final ParserRegistry overlay = DefaultParserRegistry.withSharedDefaults();
+        final ParserRegistry other = DefaultParserRegistry.withSharedDefaults();
+        overlay.registerCustomParsers(new NegatingIntegerParser());
+
+        assertEquals(-10, overlay.parserForType(Integer.class).get().parse("10", tc));
+        assertEquals(-10, overlay.parserForType(int.class).get().parse("10", tc));
+        assertEquals(Duration.ofHours(5), overlay.parserForType(Duration.class).get().parse("PT5H", tc));
+        assertEquals(10, other.parserForType(int.class).get().parse("10", tc));
+        assertEquals(10, DefaultParserRegistry.sharedDefaults().parserForType(int.class).get().parse("10", tc));
+    }
+
+    @Test
+    void testPrimitiveArrayTypes() {
+
+        final ValueParser<?> arrayParser = registry.parserForType(Array.class).get();
+
+        assertArrayEquals(new long[] {1, -2, 3_000_000_000L}, (long[]) arrayParser.parse("1,-2,3000000000", tc, long.class));
+        assertArrayEquals(new double[] {0.5, 2}, (double[]) arrayParser.parse("0.5,2", tc, double.class), 0);
+        assertArrayEquals(new boolean[] {true, false}, (boolean[]) arrayParser.parse("true,FALSE", tc, boolean.class));
+        assertThrows(EnvConfigException.class, () -> arrayParser.parse("true,yes", tc, boolean.class));
+    }
+
+    @Test
+    void testPrimitiveCustomParsers() {
+
+        final ParserRegistry overlay = DefaultParserRegistry.withSharedDefaults();
+        final TypeConverter converter = new DefaultTypeConverter(overlay);
+        overlay.registerCustomParsers((ValueParser.OfInt) s -> Integer.parseInt(s, 16));
+
+        assertEquals(255, converter.convertInt("ff"));
+        assertEquals(255, converter.convert(Integer.class, "ff"));
+        assertArrayEquals(new int[] {10, 255}, (int[]) converter.convert(int[].class, "a,ff"));
+
+        // parsers that aren't primitive specialised are unboxed
+        final ParserRegistry negating = DefaultParserRegistry.withSharedDefaults();
+        negating.registerCustomParsers(new NegatingIntegerParser());
+        assertArrayEquals(new int[] {-1, -2}, (int[]) new DefaultTypeConverter(negating).convert(int[].class, "1,2"));
+    }
+
+    @Test
+    void testNestedGenericTypes() {
+
+        final Type listOfInts = ConfigResolver.parameterizedType(List.class, Integer.class);
+        final Type mapOfLists = ConfigResolver.parameterizedType(Map.class, String.class, listOfInts);
+        assertEquals(ImmutableMap.of("a", ImmutableList.of(1, 2), "b", ImmutableList.of(3)),
+                tc.convert(mapOfLists, "a:1;2,b:3"));
+
+        final Type optionalList = ConfigResolver.parameterizedType(Optional.class,
+                ConfigResolver.parameterizedType(List.class, Duration.class));
+        assertEquals(Optional.of(ImmutableList.of(Duration.ofSeconds(1), Duration.ofMinutes(2))),
+                tc.convert(optionalList, "PT1S,PT2M"));
+        assertEquals(Optional.empty(), tc.convert(optionalList, ""));
+
+        final Type listOfMaps = ConfigResolver.parameterizedType(List.class,
+                ConfigResolver.parameterizedType(Map.class, String.class, Integer.class));
+        assertEquals(ImmutableList.of(ImmutableMap.of("a", 1, "b", 2), ImmutableMap.of("c", 3)),
+                tc.convert(listOfMaps, "a=1;b=2,c=3"));
+
+        final int[][] matrix = (int[][]) tc.convert(int[][].class, "1;2,3");
+        assertArrayEquals(new int[] {1, 2}, matrix[0]);
+        assertArrayEquals(new int[] {3}, matrix[1]);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> tc.convert(ConfigResolver.parameterizedType(List.class,
+                        ConfigResolver.parameterizedType(List.class, listOfInts)), "1"));
+    }
+
+    static class NegatingIntegerParser implements ValueParser<Integer> {
+
+        @Override
+        public Integer parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return -Integer.parseInt(value);
+        }
+    }
+
 }
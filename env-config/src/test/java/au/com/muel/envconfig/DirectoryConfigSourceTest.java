@@ -0,0 +1,126 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableMap;
+
+
+class DirectoryConfigSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testReadsFilePerKey() throws Exception {
+
+        Files.writeString(directory.resolve("DB_HOST"), "db.example.com");
+        Files.writeString(directory.resolve("DB_PORT"), "5432");
+        Files.writeString(directory.resolve(".hidden"), "ignored");
+        Files.createDirectory(directory.resolve("NESTED"));
+
+        try (DirectoryConfigSource source = DirectoryConfigSource.watch(directory)) {
+
+            assertEquals("db.example.com", source.get("DB_HOST"));
+            assertNull(source.get("DB_USER"));
+            assertNull(source.get(".hidden"));
+            assertNull(source.get("NESTED"));
+            assertNull(source.get("../DB_HOST"));
+            assertFalse(source.containsKey("DB_USER"));
+            assertEquals(ImmutableMap.of("DB_HOST", "db.example.com", "DB_PORT", "5432"), source);
+
+            final DbConfig config = EnvConfig.fromConfigSource("db", DbConfig.class, source);
+            assertEquals("db.example.com", config.host());
+            assertEquals(5432, config.port());
+        }
+    }
+
+    interface DbConfig {
+        String host();
+        int port();
+    }
+
+    @Test
+    void testCacheIsBounded() throws Exception {
+
+        Files.writeString(directory.resolve("A"), "a");
+        Files.writeString(directory.resolve("B"), "b");
+        Files.writeString(directory.resolve("C"), "c");
+
+        try (DirectoryConfigSource source = DirectoryConfigSource.watch(directory, 2)) {
+
+            assertEquals("a", source.get("A"));
+            assertEquals("b", source.get("B"));
+            assertEquals("c", source.get("C"));
+            assertEquals(2, source.cachedValues());
+            assertEquals("a", source.get("A"));
+        }
+    }
+
+    @Test
+    void testChangesAreWatched() throws Exception {
+
+        Files.writeString(directory.resolve("DB_HOST"), "db.example.com");
+        Files.writeString(directory.resolve("DB_PORT"), "5432");
+
+        try (DirectoryConfigSource source = DirectoryConfigSource.watch(directory)) {
+
+            final ReloadableConfig<DbConfig> reloadable = EnvConfig.reloadable("db", DbConfig.class, () -> source);
+            assertEquals("db.example.com", reloadable.get().host());
+
+            final CountDownLatch reloaded = new CountDownLatch(1);
+            reloadable.addListener((previous, current, changedMethods) -> reloaded.countDown());
+            source.addListener(reloadable::reload);
+
+            Files.writeString(directory.resolve("DB_HOST"), "replica.example.com");
+
+            // some watch services poll, so allow for a slow notification
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+            assertEquals("replica.example.com", reloadable.get().host());
+            assertEquals("replica.example.com", source.get("DB_HOST"));
+        }
+    }
+
+    @Test
+    void testListenerFailuresAreReported() throws Exception {
+
+        Files.writeString(directory.resolve("DB_HOST"), "db.example.com");
+        Files.writeString(directory.resolve("DB_PORT"), "5432");
+
+        final BlockingQueue<Throwable> uncaught = new LinkedBlockingQueue<>();
+        try (DirectoryConfigSource source = DirectoryConfigSource.watch(directory)) {
+
+            // every failure, eg of reading a partly written file, is reported to this handler
+            source.watcher().setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+            final ReloadableConfig<DbConfig> reloadable = EnvConfig.reloadable("db", DbConfig.class, () -> source);
+            source.addListener(reloadable::reload);
+
+            Files.writeString(directory.resolve("DB_PORT"), "five");
+
+            final Throwable e = uncaught.poll(30, TimeUnit.SECONDS);
+            assertTrue(e instanceof IllegalStateException, String.valueOf(e));
+            // the file may be read before it has been written
+            assertTrue(e.getMessage().contains("port() - failed to parse"), e.getMessage());
+            assertEquals(5432, reloadable.get().port());
+        }
+    }
+
+}
@@ -0,0 +1,699 @@
+package au.com.muel.envconfig;
+
+import static com.google.common.collect.ImmutableMap.of;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+
+class EnvConfigTest {
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testFromEnvNoNamespace() {
+
+        final TestConfig config = EnvConfig.fromEnv(TestConfig.class);
+
+        assertEquals("localhost", config.testHost());
+        assertEquals(8080, config.myPort());
+        assertEquals(Optional.empty(), config.missingString());
+        assertEquals(of(DAYS, (byte)1, HOURS, (byte)2, MINUTES, (byte)3), config.strangeTimeMap());
+    }
+
+    static interface TestConfig {
+
+        String testHost();
+        int myPort();
+        Optional<String> missingString();
+        Map<TimeUnit, Byte> strangeTimeMap();
+
+    }
+
+    @Test
+    void testFromEnvQuickStart() throws Exception {
+
+        final MyAppConfig config = EnvConfig.fromEnv("MYAPP", MyAppConfig.class);
+
+        assertEquals(new URL("https://auth.service.com/auth"), config.authServiceUrl());
+        assertEquals("jdbc:postgresql://localhost/test", config.dbJdbcUrl());
+        assertEquals(10, config.dbPoolSize());
+        assertEquals(Sets.newHashSet("a.foo.com", "b.foo.com", "c.foo.com"), config.corsDomains());
+    }
+
+    static interface MyAppConfig {
+        URL authServiceUrl();
+        String dbJdbcUrl();
+        int dbPoolSize();
+        Set<String> corsDomains();
+    }
+
+    @Test
+    void testInterfaceInheritance() {
+
+        final Map<String, String> envVars = ImmutableMap.of("FOO", "foo", "BAR", "bar");
+
+        final FooBar config = EnvConfig.fromConfigSource(FooBar.class, envVars);
+
+        assertEquals("foo", config.foo());
+        assertEquals("bar", config.bar());
+    }
+
+    @Test
+    void testProxyObjectMethods() {
+
+        final Map<String, String> envVars = ImmutableMap.of("FOO", "foo", "BAR", "bar");
+
+        final FooBar config = EnvConfig.fromConfigSource(FooBar.class, envVars);
+        final FooBar other = EnvConfig.fromConfigSource("OTHER", FooBar.class, ImmutableMap.of("OTHER_FOO", "foo", "OTHER_BAR", "bar"));
+
+        assertEquals(config, config);
+        assertNotEquals(config, other);
+        assertEquals(System.identityHashCode(config), config.hashCode());
+        assertEquals("FooBar<Proxy:Optional.empty>", config.toString());
+    }
+
+    @Test
+    void testDiamondInterfaceInheritance() {
+
+        final Map<String, String> envVars = ImmutableMap.of("FOO", "foo", "BAR", "bar", "BAZ", "baz");
+
+        final FooBarBaz config = EnvConfig.fromConfigSource(FooBarBaz.class, envVars);
+
+        assertEquals("foo", config.foo());
+        assertEquals("bar", config.bar());
+        assertEquals("baz", config.baz());
+    }
+
+    static interface FooBarBaz extends FooBar, Bar {
+        String baz();
+    }
+
+    static interface Bar {
+        String bar();
+    }
+
+    static interface FooBar extends Bar {
+        String foo();
+    }
+
+    @Test
+    void testGeneratedFromEnvQuickStart() throws Exception {
+
+        final MyAppConfig config = EnvConfig.generated().fromEnv("MYAPP", MyAppConfig.class);
+
+        assertFalse(Proxy.isProxyClass(config.getClass()));
+        assertEquals(new URL("https://auth.service.com/auth"), config.authServiceUrl());
+        assertEquals("jdbc:postgresql://localhost/test", config.dbJdbcUrl());
+        assertEquals(10, config.dbPoolSize());
+        assertEquals(Sets.newHashSet("a.foo.com", "b.foo.com", "c.foo.com"), config.corsDomains());
+        assertEquals("MyAppConfig<Proxy:Optional[MYAPP]>", config.toString());
+    }
+
+    @Test
+    void testGeneratedPrimitivesAndInheritance() {
+
+        final Map<String, String> envVars = ImmutableMap.<String, String>builder()
+                .put("BAR", "bar")
+                .put("ENABLED", "true")
+                .put("SMALL", "7")
+                .put("SHORT_VALUE", "300")
+                .put("MAX_BYTES", "9223372036854775807")
+                .put("RATIO", "0.25")
+                .put("SCALE", "1.5")
+                .put("PORTS", "80,443")
+                .put("TIMEOUT", "PT5S")
+                .build();
+
+        final PrimitivesConfig config = EnvConfig.generated().fromConfigSource(PrimitivesConfig.class, envVars);
+
+        assertFalse(Proxy.isProxyClass(config.getClass()));
+        assertEquals("bar", config.bar());
+        assertEquals(true, config.enabled());
+        assertEquals((byte) 7, config.small());
+        assertEquals((short) 300, config.shortValue());
+        assertEquals(Long.MAX_VALUE, config.maxBytes());
+        assertEquals(0.25D, config.ratio());
+        assertEquals(1.5F, config.scale());
+        assertArrayEquals(new int[] {80, 443}, config.ports());
+        assertEquals(Duration.ofSeconds(5), config.timeout());
+        assertEquals(System.identityHashCode(config), config.hashCode());
+    }
+
+    static interface PrimitivesConfig extends Bar {
+        boolean enabled();
+        byte small();
+        short shortValue();
+        long maxBytes();
+        double ratio();
+        float scale();
+        int[] ports();
+        Duration timeout();
+    }
+
+    @Test
+    void testGeneratedErrorsMatchProxy() {
+
+        final Map<String, String> envVars = ImmutableMap.of("MY_PORT", "eighty");
+
+        final IllegalStateException proxyError = assertThrows(IllegalStateException.class,
+                () -> EnvConfig.fromConfigSource(TestConfig.class, envVars));
+        final IllegalStateException generatedError = assertThrows(IllegalStateException.class,
+                () -> EnvConfig.generated().fromConfigSource(TestConfig.class, envVars));
+
+        assertEquals(proxyError.getMessage(), generatedError.getMessage());
+    }
+
+    @Test
+    void testLazyParsesOnFirstAccess() {
+
+        final RecordingSource envVars = new RecordingSource(ImmutableMap.of("TEST_HOST", "localhost", "MY_PORT", "80"));
+
+        final TestConfig config = EnvConfig.lazy().fromConfigSource(TestConfig.class, envVars);
+        assertTrue(envVars.requestedKeys.isEmpty());
+
+        assertEquals(80, config.myPort());
+        assertEquals(80, config.myPort());
+        assertEquals(ImmutableList.of("MY_PORT"), envVars.requestedKeys);
+    }
+
+    @Test
+    void testLazyValidate() {
+
+        final Map<String, String> envVars = ImmutableMap.of("TEST_HOST", "localhost", "MY_PORT", "eighty");
+
+        final TestConfig config = EnvConfig.lazy().fromConfigSource(TestConfig.class, envVars);
+
+        assertEquals("localhost", config.testHost());
+        assertThrows(EnvConfigException.class, config::myPort);
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class, () -> EnvConfig.validate(config));
+        assertTrue(e.getMessage().contains("myPort() - failed to parse \"eighty\""), e.getMessage());
+
+        // an eager request for the cached config validates it too
+        assertThrows(IllegalStateException.class, () -> EnvConfig.fromConfigSource(TestConfig.class, envVars));
+    }
+
+    @Test
+    void testParallelValidation() {
+
+        final Map<String, String> envVars = ImmutableMap.of(
+                "VALUE_A", "1,2,3", "VALUE_B", "PT1M", "VALUE_C", "x", "VALUE_D", "true");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            final ParallelConfig config = EnvConfig.parallel(executor).fromConfigSource(ParallelConfig.class, envVars);
+
+            assertEquals(ImmutableList.of(1, 2, 3), config.valueA());
+            assertEquals(Duration.ofMinutes(1), config.valueB());
+            assertEquals("x", config.valueC());
+            assertTrue(config.valueD());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelErrorsMatchSequential() {
+
+        final Map<String, String> envVars = ImmutableMap.of(
+                "VALUE_A", "1,two", "VALUE_B", "a minute", "VALUE_C", "x", "VALUE_D", "yes");
+
+        final IllegalStateException sequential = assertThrows(IllegalStateException.class,
+                () -> EnvConfig.fromConfigSource(ParallelConfig.class, envVars));
+
+        final IllegalStateException parallel = assertThrows(IllegalStateException.class,
+                () -> EnvConfig.parallel(ForkJoinPool.commonPool()).fromConfigSource(ParallelConfig.class, envVars));
+
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+    }
+
+    static interface ParallelConfig {
+        List<Integer> valueA();
+        Duration valueB();
+        String valueC();
+        boolean valueD();
+    }
+
+    @Test
+    void testConcurrentFirstAccessResolvesOnce() throws Exception {
+
+        SlowParser.PARSED.set(0);
+        final SlowConfig config = EnvConfig.lazy().fromConfigSource(SlowConfig.class, ImmutableMap.of("SLOW", "PT5S"));
+
+        final int threads = 64;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Duration>> results = new ArrayList<>();
+            for (int i=0; i<threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return config.slow();
+                }));
+            }
+            start.countDown();
+
+            for (Future<Duration> result : results) {
+                assertEquals(Duration.ofSeconds(5), result.get());
+            }
+            assertEquals(1, SlowParser.PARSED.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static interface SlowConfig {
+
+        @EnvVar(customParsers = SlowParser.class)
+        Duration slow();
+    }
+
+    public static class SlowParser implements ValueParser<Duration> {
+
+        static final AtomicInteger PARSED = new AtomicInteger();
+
+        @Override
+        public Duration parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+
+            PARSED.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Duration.parse(value);
+        }
+    }
+
+    @Test
+    void testFailedResolutionIsRetried() {
+
+        final Map<String, String> envVars = new HashMap<>(ImmutableMap.of("TEST_HOST", "localhost", "MY_PORT", "eighty"));
+
+        final TestConfig config = EnvConfig.lazy().fromConfigSource(TestConfig.class, envVars);
+
+        assertThrows(EnvConfigException.class, config::myPort);
+        envVars.put("MY_PORT", "80");
+        assertEquals(80, config.myPort());
+    }
+
+    @Test
+    void testCacheKeyedOnSource() {
+
+        final Map<String, String> envVars = new HashMap<>(of("HOST", "one"));
+        final HostConfig config1 = EnvConfig.fromConfigSource(HostConfig.class, envVars);
+        final HostConfig config2 = EnvConfig.fromConfigSource(HostConfig.class, of("HOST", "two"));
+
+        assertEquals("one", config1.host());
+        assertEquals("two", config2.host());
+        assertSame(config1, EnvConfig.fromConfigSource(HostConfig.class, envVars));
+
+        // changing a key the config doesn't read still hits the cache, but changing one it reads doesn't
+        envVars.put("OTHER", "x");
+        assertSame(config1, EnvConfig.fromConfigSource(HostConfig.class, envVars));
+        envVars.put("HOST", "three");
+        assertEquals("three", EnvConfig.fromConfigSource(HostConfig.class, envVars).host());
+
+        EnvConfig.clear(Optional.empty(), HostConfig.class);
+        assertNotSame(config2, EnvConfig.fromConfigSource(HostConfig.class, of("HOST", "two")));
+    }
+
+    @Test
+    void testCacheIgnoresNamespaceCase() {
+
+        final Map<String, String> envVars = of("MYAPP_HOST", "one");
+        final HostConfig config = EnvConfig.fromConfigSource("myapp", HostConfig.class, envVars);
+        assertSame(config, EnvConfig.fromConfigSource("MYAPP", HostConfig.class, envVars));
+        assertSame(config, EnvConfig.fromConfigSource("MyApp", HostConfig.class, envVars));
+
+        EnvConfig.clear(Optional.of("MyApp"), HostConfig.class);
+        assertNotSame(config, EnvConfig.fromConfigSource("MYAPP", HostConfig.class, envVars));
+    }
+
+    @Test
+    void testManyConfigsStayCached() {
+
+        final Map<String, String> first = of("HOST", "0");
+        final HostConfig config = EnvConfig.fromConfigSource(HostConfig.class, first);
+        for (int i=1; i<=5000; i++) {
+            EnvConfig.fromConfigSource(HostConfig.class, of("HOST", Integer.toString(i)));
+        }
+
+        assertSame(config, EnvConfig.fromConfigSource(HostConfig.class, first));
+    }
+
+    @Test
+    void testEnvironmentCached() {
+
+        final PathConfig config = EnvConfig.fromEnv(PathConfig.class);
+        assertSame(config, EnvConfig.fromEnv(PathConfig.class));
+        assertEquals(Optional.ofNullable(System.getenv("PATH")), config.path());
+    }
+
+    static interface PathConfig {
+        Optional<String> path();
+    }
+
+    static interface HostConfig {
+        String host();
+    }
+
+    @Test
+    void testUnusedVariables() {
+
+        assertEquals(ImmutableList.of(), EnvConfig.unusedVariables("myapp", MyAppConfig.class));
+        assertEquals(ImmutableList.of("MYAPP_AUTH_SERVICE_URL", "MYAPP_CORS_DOMAINS"),
+                EnvConfig.unusedVariables("MYAPP", DbConfig.class));
+    }
+
+    static interface DbConfig {
+        String dbJdbcUrl();
+        int dbPoolSize();
+    }
+
+    @Test
+    void testBulkCreation() {
+
+        final Map<String, String> envVars = new HashMap<>();
+        final List<String> tenants = new ArrayList<>();
+        for (int i=0; i<100; i++) {
+            tenants.add("tenant" + i);
+            envVars.put("TENANT" + i + "_HOST", "host" + i);
+            envVars.put("TENANT" + i + "_PORT", Integer.toString(8000 + i));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            final Map<String, TenantConfig> configs = EnvConfig.parallel(executor)
+                    .fromConfigSource(tenants, TenantConfig.class, envVars);
+
+            assertEquals(tenants, new ArrayList<>(configs.keySet()));
+            for (int i=0; i<100; i++) {
+
+                final TenantConfig config = configs.get("tenant" + i);
+                assertFalse(Proxy.isProxyClass(config.getClass()));
+                assertEquals("host" + i, config.host());
+                assertEquals(8000 + i, config.port());
+            }
+
+            // each config is cached as if it were created individually
+            assertTrue(configs.get("tenant7")
+                    == EnvConfig.generated().fromConfigSource("tenant7", TenantConfig.class, envVars));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBulkCreationErrors() {
+
+        final Map<String, String> envVars = of("A_HOST", "a", "A_PORT", "80", "B_HOST", "b", "B_PORT", "eighty");
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> EnvConfig.fromConfigSource(ImmutableList.of("a", "b", "c"), TenantConfig.class, envVars));
+
+        assertTrue(e.getMessage().startsWith("Failed to create configs with errors: [b - "), e.getMessage());
+        assertTrue(e.getMessage().contains("port() - failed to parse \"eighty\" for B_PORT"), e.getMessage());
+        assertTrue(e.getMessage().contains(", c - "), e.getMessage());
+    }
+
+    @Test
+    void testInternedValues() {
+
+        final Map<String, String> envVars = of("A_ALLOWED", "x,y", "A_TIMEOUT", "PT1S", "A_LIMITS", "1,2",
+                "B_ALLOWED", "x,y", "B_TIMEOUT", "PT1S", "B_LIMITS", "1,2");
+
+        final Map<String, SharedConfig> configs = EnvConfig.interned(16)
+                .fromConfigSource(ImmutableList.of("a", "b"), SharedConfig.class, envVars);
+        final SharedConfig a = configs.get("a");
+        final SharedConfig b = configs.get("b");
+
+        assertEquals(ImmutableSet.of("x", "y"), a.allowed());
+        assertSame(a.allowed(), b.allowed());
+        assertSame(a.timeout(), b.timeout());
+
+        // arrays are mutable so are never shared
+        assertArrayEquals(a.limits(), b.limits());
+        assertNotSame(a.limits(), b.limits());
+
+        // values aren't shared without interning
+        final SharedConfig c = EnvConfig.fromConfigSource("b", SharedConfig.class, of("B_ALLOWED", "x,y",
+                "B_TIMEOUT", "PT1S", "B_LIMITS", "3"));
+        assertNotSame(a.allowed(), c.allowed());
+    }
+
+    static interface SharedConfig {
+        Set<String> allowed();
+        Duration timeout();
+        int[] limits();
+    }
+
+    @Test
+    void testConcurrentCreationOfSameConfig() throws Exception {
+
+        SlowCreationParser.PARSED.set(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            final Map<String, String> envVars = of("SLOW_SLOW", "PT1S");
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<SlowCreationConfig>> results = new ArrayList<>();
+            for (int i=0; i<4; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return EnvConfig.fromConfigSource("slow", SlowCreationConfig.class, envVars);
+                }));
+            }
+            start.countDown();
+
+            final SlowCreationConfig config = results.get(0).get();
+            for (Future<SlowCreationConfig> result : results) {
+                assertSame(config, result.get());
+            }
+            assertEquals(1, SlowCreationParser.PARSED.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static interface SlowCreationConfig {
+
+        @EnvVar(customParsers = SlowCreationParser.class)
+        Duration slow();
+    }
+
+    public static class SlowCreationParser implements ValueParser<Duration> {
+
+        static final AtomicInteger PARSED = new AtomicInteger();
+
+        @Override
+        public Duration parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+
+            PARSED.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Duration.parse(value);
+        }
+    }
+
+    @Test
+    void testConfigCreatedByParser() {
+
+        final OuterConfig config = EnvConfig.fromConfigSource(OuterConfig.class, of("INNER", "x"));
+        assertEquals("x", config.inner());
+
+        RecursiveParser.RECURSE.set(true);
+        try {
+
+            final IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> EnvConfig.fromConfigSource(RecursiveConfig.class, RecursiveParser.SOURCE));
+            assertTrue(e.getMessage().contains("Recursive computation of config " + RecursiveConfig.class.getName()),
+                    e.getMessage());
+            assertThrows(IllegalStateException.class,
+                    () -> EnvConfig.fromConfigSource(RecursiveConfig.class, RecursiveParser.SOURCE));
+        } finally {
+            RecursiveParser.RECURSE.set(false);
+        }
+
+        // the failed creation isn't cached, so a later creation from the same source succeeds
+        assertEquals("x", EnvConfig.fromConfigSource(RecursiveConfig.class, RecursiveParser.SOURCE).self());
+    }
+
+    static interface OuterConfig {
+
+        @EnvVar(customParsers = InnerParser.class)
+        String inner();
+    }
+
+    static interface InnerConfig {
+        String value();
+    }
+
+    public static class InnerParser implements ValueParser<String> {
+
+        @Override
+        public String parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return EnvConfig.fromConfigSource(InnerConfig.class, of("VALUE", value)).value();
+        }
+    }
+
+    static interface RecursiveConfig {
+
+        @EnvVar(customParsers = RecursiveParser.class)
+        String self();
+    }
+
+    public static class RecursiveParser implements ValueParser<String> {
+
+        static final Map<String, String> SOURCE = of("SELF", "x");
+        static final AtomicBoolean RECURSE = new AtomicBoolean();
+
+        @Override
+        public String parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return RECURSE.get() ? EnvConfig.fromConfigSource(RecursiveConfig.class, SOURCE).self() : value;
+        }
+    }
+
+    @Test
+    void testCachedConfigsDontKeepClassLoaders() throws Exception {
+
+        ClassLoader loader = new IsolatingClassLoader(UnloadableConfig.class.getName());
+        final WeakReference<ClassLoader> loaderRef = new WeakReference<>(loader);
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+
+            // the same interface name from two class loaders doesn't collide
+            final Class<?> isolatedType = loader.loadClass(UnloadableConfig.class.getName());
+            final Object isolated = EnvConfig.fromConfigSource(isolatedType, of("NAME", "isolated"));
+            assertNotSame(isolatedType, UnloadableConfig.class);
+            assertEquals("isolated", isolatedType.getMethod("name").invoke(isolated));
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+
+        final UnloadableConfig config = EnvConfig.fromConfigSource(UnloadableConfig.class, of("NAME", "isolated"));
+        assertFalse(config.getClass().getClassLoader() instanceof IsolatingClassLoader);
+
+        loader = null;
+        for (int i=0; i<50 && loaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loaderRef.get());
+    }
+
+    public interface UnloadableConfig {
+        String name();
+    }
+
+    /**
+     * Defines the named class itself, rather than delegating to its parent.
+     */
+    static class IsolatingClassLoader extends ClassLoader {
+
+        private final String isolatedName;
+
+        IsolatingClassLoader(String isolatedName) {
+            super(IsolatingClassLoader.class.getClassLoader());
+            this.isolatedName = isolatedName;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+
+            if (!name.equals(isolatedName)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+
+                final Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    final byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    static interface TenantConfig {
+        String host();
+        int port();
+    }
+
+    static class RecordingSource extends HashMap<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        final List<Object> requestedKeys = new ArrayList<>();
+
+        RecordingSource(Map<String, String> values) {
+            super(values);
+        }
+
+        @Override
+        public String get(Object key) {
+            requestedKeys.add(key);
+            return super.get(key);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableMap;
+
+
+class EnvFileConfigSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testParsesEnvFile() throws Exception {
+
+        final Path file = directory.resolve(".env");
+        Files.write(file, ("\uFEFF# comment\n"
+                + "\n"
+                + "APP_HOST=localhost\r\n"
+                + "export APP_PORT = 8080\n"
+                + "APP_GREETING=\"hello, wörld\"\n"
+                + "APP_QUOTE='single'\n"
+                + "APP_EMPTY=\n"
+                + "NOT A PAIR\n"
+                + "=no key\n"
+                + "APP_HOST=example.com\n"
+                + "APP_EQUALS=a=b").getBytes(StandardCharsets.UTF_8));
+
+        final EnvFileConfigSource source = EnvFileConfigSource.map(file);
+
+        assertEquals(6, source.size());
+        assertEquals("example.com", source.get("APP_HOST"));
+        assertEquals("8080", source.get("APP_PORT"));
+        assertEquals("hello, wörld", source.get("APP_GREETING"));
+        assertEquals("single", source.get("APP_QUOTE"));
+        assertEquals("", source.get("APP_EMPTY"));
+        assertEquals("a=b", source.get("APP_EQUALS"));
+        assertNull(source.get("NOT A PAIR"));
+        assertFalse(source.containsKey("APP_MISSING"));
+        assertEquals(ImmutableMap.builder()
+                .put("APP_HOST", "example.com")
+                .put("APP_PORT", "8080")
+                .put("APP_GREETING", "hello, wörld")
+                .put("APP_QUOTE", "single")
+                .put("APP_EMPTY", "")
+                .put("APP_EQUALS", "a=b")
+                .build(), source);
+
+        final AppConfig config = EnvConfig.fromConfigSource("app", AppConfig.class, source);
+        assertEquals("example.com", config.host());
+        assertEquals(8080, config.port());
+    }
+
+    interface AppConfig {
+        String host();
+        int port();
+    }
+
+    @Test
+    void testManyKeys() throws Exception {
+
+        final Map<String, String> expected = new HashMap<>();
+        final StringBuilder content = new StringBuilder();
+        for (int i=0; i<10_000; i++) {
+            expected.put("KEY_" + i, "value" + i);
+            content.append("KEY_").append(i).append("=value").append(i).append('\n');
+        }
+
+        final Path file = directory.resolve("many.env");
+        Files.writeString(file, content);
+
+        final EnvFileConfigSource source = EnvFileConfigSource.map(file);
+        assertEquals(expected, source);
+        assertTrue(source.containsKey("KEY_9999"));
+        assertEquals("value1234", source.get("KEY_1234"));
+    }
+
+    @Test
+    void testEmptyFile() throws Exception {
+
+        final Path file = Files.createFile(directory.resolve("empty.env"));
+
+        final EnvFileConfigSource source = EnvFileConfigSource.map(file);
+        assertTrue(source.isEmpty());
+        assertNull(source.get("KEY"));
+    }
+
+}
@@ -0,0 +1,244 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+class GeneratedImplTest {
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.setMetricsListener(null);
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testGeneratedImplIsUsed() {
+
+        final Map<String, String> envVars = ImmutableMap.of(
+                "APP_SERVER_HOST", "localhost",
+                "APP_SERVERPORT", "8443",
+                "FIXED_NAME", "DAYS,HOURS",
+                "APP_TIMEOUTS", "PT1S,PT2S",
+                "APP_LOCALE", "en");
+
+        final AppConfig config = EnvConfig.fromConfigSource("app", AppConfig.class, envVars);
+
+        assertEquals(GeneratedImplTest_AppConfigEnvConfigImpl.class, config.getClass());
+        assertEquals("localhost", config.serverHost());
+        assertEquals(8443, config.serverPort());
+        assertEquals(30, config.retries());
+        assertArrayEquals(new TimeUnit[] {TimeUnit.DAYS, TimeUnit.HOURS}, config.units());
+        assertEquals(ImmutableList.of(Duration.ofSeconds(1), Duration.ofSeconds(2)), config.timeouts());
+        assertEquals(Optional.empty(), config.missing());
+        assertEquals(Locale.ENGLISH, config.locale());
+        assertEquals("AppConfig<Proxy:Optional[app]>", config.toString());
+    }
+
+    @Test
+    void testGeneratedImplReportsMethodTimings() {
+
+        final ConfigMetrics metrics = new ConfigMetrics();
+        EnvConfig.setMetricsListener(metrics);
+
+        final AppConfig config = EnvConfig.fromConfigSource("app", AppConfig.class, ImmutableMap.of(
+                "APP_SERVER_HOST", "localhost", "APP_SERVERPORT", "8443", "FIXED_NAME", "DAYS",
+                "APP_TIMEOUTS", "PT1S,PT2S", "APP_LOCALE", "en"));
+        assertEquals(GeneratedImplTest_AppConfigEnvConfigImpl.class, config.getClass());
+
+        final ConfigMetrics.Stats stats = metrics.getStats();
+        assertEquals(0, stats.proxyCreations());
+        assertEquals(7, stats.methods().size());
+
+        final ConfigMetrics.MethodStats timeouts = stats.methods().stream()
+                .filter(m -> m.methodName().equals("timeouts")).findFirst().get();
+        assertEquals(AppConfig.class, timeouts.configType());
+        assertEquals(1, timeouts.resolutions());
+        assertEquals(2, timeouts.maxResultSize());
+        assertTrue(timeouts.totalNanos() > 0, timeouts.toString());
+    }
+
+    @Test
+    void testGeneratedImplRecordsEvents(@TempDir Path dir) throws IOException {
+
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+
+            recording.enable("au.com.muel.envconfig.ConfigCreated").withThreshold(Duration.ZERO);
+            recording.enable("au.com.muel.envconfig.ValueParsed").withThreshold(Duration.ZERO);
+            recording.start();
+
+            final AppConfig config = EnvConfig.fromConfigSource("app", AppConfig.class, ImmutableMap.of(
+                    "APP_SERVER_HOST", "localhost", "APP_SERVERPORT", "8443", "FIXED_NAME", "DAYS",
+                    "APP_TIMEOUTS", "PT1S,PT2S", "APP_LOCALE", "en"));
+            assertEquals(GeneratedImplTest_AppConfigEnvConfigImpl.class, config.getClass());
+
+            recording.stop();
+            final Path file = dir.resolve("events.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        final List<RecordedEvent> created = events.stream()
+                .filter(e -> e.getEventType().getName().equals("au.com.muel.envconfig.ConfigCreated"))
+                .collect(Collectors.toList());
+        assertEquals(1, created.size());
+        assertEquals("app", created.get(0).getString("namespace"));
+        assertEquals(AppConfig.class.getName(), created.get(0).getClass("configType").getName());
+
+        final List<String> parsed = events.stream()
+                .filter(e -> e.getEventType().getName().equals("au.com.muel.envconfig.ValueParsed"))
+                .map(e -> e.getString("envVarName"))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(ImmutableList.of("APP_LOCALE", "APP_MISSING", "APP_RETRIES", "APP_SERVERPORT",
+                "APP_SERVER_HOST", "APP_TIMEOUTS", "FIXED_NAME"), parsed);
+    }
+
+    @GenerateEnvConfig
+    interface BaseConfig {
+        String serverHost();
+    }
+
+    interface AppConfig extends BaseConfig {
+
+        @EnvVar(splitWords = false)
+        int serverPort();
+
+        @EnvVar(defaultValue = "30")
+        long retries();
+
+        @EnvVar(envVarName = "FIXED_NAME")
+        TimeUnit[] units();
+
+        List<Duration> timeouts();
+
+        Optional<Boolean> missing();
+
+        @EnvVar(customParsers = LocaleParser.class)
+        Locale locale();
+    }
+
+    public static class LocaleParser implements ValueParser<Locale> {
+
+        @Override
+        public Locale parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return new Locale(value);
+        }
+    }
+
+    @Test
+    void testGeneratedImplErrors() {
+
+        final Map<String, String> envVars = ImmutableMap.of("APP_SERVERPORT", "eighty", "APP_TIMEOUTS", "PT1S");
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> EnvConfig.fromConfigSource("app", AppConfig.class, envVars));
+
+        assertTrue(e.getMessage().startsWith("Failed to parse config with errors: ["), e.getMessage());
+        assertTrue(e.getMessage().contains("serverHost() - failed to parse \"\" for APP_SERVER_HOST "
+                + "(java.lang.IllegalArgumentException: Missing value, got: \"\")"), e.getMessage());
+        assertTrue(e.getMessage().contains("serverPort() - failed to parse \"eighty\" for APP_SERVERPORT "
+                + "(java.lang.NumberFormatException: For input string: \"eighty\")"), e.getMessage());
+    }
+
+    @Test
+    void testParallelLoaderResolvesInParallel() {
+
+        final Map<String, String> envVars = ImmutableMap.of("APP_SERVER_HOST", "localhost", "APP_SERVERPORT", "8443",
+                "FIXED_NAME", "DAYS", "APP_TIMEOUTS", "PT1S", "APP_LOCALE", "en");
+
+        final AppConfig config = EnvConfig.parallel(ForkJoinPool.commonPool())
+                .fromConfigSource("app", AppConfig.class, envVars);
+
+        // the generated implementation resolves its values sequentially
+        assertTrue(Proxy.isProxyClass(config.getClass()));
+        assertEquals(8443, config.serverPort());
+        assertEquals(Locale.ENGLISH, config.locale());
+    }
+
+    @Test
+    void testTypeUseAnnotations() {
+
+        final AnnotatedTypesConfig config = EnvConfig.fromConfigSource(AnnotatedTypesConfig.class,
+                ImmutableMap.of("NAME", "a", "NAMES", "b,c", "LIMITS", "a:1", "TIMEOUTS", "PT1S"));
+
+        assertEquals(GeneratedImplTest_AnnotatedTypesConfigEnvConfigImpl.class, config.getClass());
+        assertEquals("a", config.name());
+        assertEquals(ImmutableList.of("b", "c"), config.names());
+        assertEquals(ImmutableMap.of("a", 1), config.limits());
+        assertArrayEquals(new Duration[] {Duration.ofSeconds(1)}, config.timeouts());
+    }
+
+    @Target(ElementType.TYPE_USE)
+    @interface NonEmpty {
+    }
+
+    @GenerateEnvConfig
+    interface AnnotatedTypesConfig {
+
+        @NonEmpty String name();
+
+        List<@NonEmpty String> names();
+
+        Map<@NonEmpty String, java.lang.@NonEmpty Integer> limits();
+
+        @NonEmpty Duration @NonEmpty [] timeouts();
+    }
+
+    @Test
+    void testFallbackToProxy() {
+
+        final PrivateParserConfig config = EnvConfig.fromConfigSource(PrivateParserConfig.class,
+                ImmutableMap.of("LOCALE", "fr"));
+
+        assertTrue(Proxy.isProxyClass(config.getClass()));
+        assertEquals(Locale.FRENCH, config.locale());
+    }
+
+    interface PrivateParserConfig {
+
+        @EnvVar(customParsers = PrivateLocaleParser.class)
+        Locale locale();
+    }
+
+    static class PrivateLocaleParser implements ValueParser<Locale> {
+
+        private PrivateLocaleParser() {
+        }
+
+        @Override
+        public Locale parse(String value, TypeConverter typeConverter, Type... paramTypes) {
+            return new Locale(value);
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+
+class LayeredConfigSourceTest {
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testFirstLayerWins() {
+
+        final LayeredConfigSource source = LayeredConfigSource
+                .of("overrides", ImmutableMap.of("APP_PORT", "9090"))
+                .then("env", ImmutableMap.of("APP_HOST", "example.com", "APP_PORT", "8080"))
+                .then("defaults", ImmutableMap.of("APP_HOST", "localhost", "APP_PORT", "80", "APP_USER", "app"));
+
+        assertEquals("9090", source.get("APP_PORT"));
+        assertEquals("example.com", source.get("APP_HOST"));
+        assertEquals("app", source.get("APP_USER"));
+        assertNull(source.get("APP_MISSING"));
+        assertEquals(ImmutableMap.of("APP_PORT", "9090", "APP_HOST", "example.com", "APP_USER", "app"), source);
+
+        final AppConfig config = EnvConfig.fromConfigSource("app", AppConfig.class, source);
+        assertEquals("example.com", config.host());
+        assertEquals(9090, config.port());
+
+        assertEquals(Optional.of("env"), source.layerOf("APP_HOST"));
+        assertEquals(Optional.empty(), source.layerOf("APP_MISSING"));
+        assertEquals(ImmutableMap.of("host", "env", "port", "overrides", "user", "defaults"),
+                source.layersOf("app", AppConfig.class));
+    }
+
+    interface AppConfig {
+        String host();
+        int port();
+        String user();
+        Optional<String> missing();
+    }
+
+    @Test
+    void testLayerChanges() {
+
+        final Map<String, String> overrides = new HashMap<>();
+        final Map<String, String> env = new HashMap<>(ImmutableMap.of("APP_HOST", "example.com"));
+        final LayeredConfigSource source = LayeredConfigSource.of("overrides", overrides).then("env", env);
+
+        assertEquals("example.com", source.get("APP_HOST"));
+        assertNull(source.get("APP_USER"));
+
+        // keys added to a higher layer, or to any layer, are seen straight away
+        overrides.put("APP_HOST", "override.example.com");
+        env.put("APP_USER", "app");
+        assertEquals("override.example.com", source.get("APP_HOST"));
+        assertEquals(Optional.of("overrides"), source.layerOf("APP_HOST"));
+        assertEquals("app", source.get("APP_USER"));
+
+        overrides.remove("APP_HOST");
+        assertEquals("example.com", source.get("APP_HOST"));
+        assertEquals(Optional.of("env"), source.layerOf("APP_HOST"));
+    }
+
+    @Test
+    void testResolvedSource() {
+
+        final Map<String, String> overrides = new ConcurrentHashMap<>();
+        final Map<String, String> env = new ConcurrentHashMap<>(ImmutableMap.of("APP_HOST", "example.com",
+                "APP_PORT", "80", "APP_USER", "app", "OTHER", "x"));
+        final LayeredConfigSource source = LayeredConfigSource.of("overrides", overrides).then("env", env);
+
+        final Map<String, String> resolved = source.resolve("app", AppConfig.class);
+        assertEquals(ImmutableMap.of("APP_HOST", "example.com", "APP_PORT", "80", "APP_USER", "app"), resolved);
+        assertNull(resolved.get("OTHER"));
+
+        // the same source is returned, so configs created from it are cached
+        assertSame(resolved, source.resolve("APP", AppConfig.class));
+        assertSame(EnvConfig.fromConfigSource("app", AppConfig.class, resolved),
+                EnvConfig.fromConfigSource("app", AppConfig.class, source.resolve("app", AppConfig.class)));
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.reloadable("app", AppConfig.class, () -> resolved);
+        assertEquals(80, reloadable.get().port());
+
+        // a changed value is read from its layer straight away
+        env.put("APP_PORT", "81");
+        assertEquals(ImmutableList.of("port"), reloadable.reload());
+        assertEquals(81, reloadable.get().port());
+
+        // but a value added to a higher layer is only seen once the layers are refreshed
+        overrides.put("APP_PORT", "8080");
+        assertEquals("81", resolved.get("APP_PORT"));
+        source.refresh();
+        assertEquals(ImmutableList.of("port"), reloadable.reload());
+        assertEquals(8080, reloadable.get().port());
+
+        // a value removed from its layer is read from the layers below
+        overrides.remove("APP_PORT");
+        assertEquals("81", resolved.get("APP_PORT"));
+    }
+
+    @Test
+    void testEmptyValueShadowsLowerLayers() {
+
+        final LayeredConfigSource source = LayeredConfigSource
+                .of("overrides", ImmutableMap.of("APP_USER", ""))
+                .then("env", ImmutableMap.of("APP_USER", "app"));
+
+        assertEquals("", source.get("APP_USER"));
+        assertEquals(Optional.of("overrides"), source.layerOf("APP_USER"));
+        assertEquals("", source.resolve("app", AppConfig.class).get("APP_USER"));
+    }
+
+}
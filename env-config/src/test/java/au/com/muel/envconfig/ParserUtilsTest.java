@@ -0,0 +1,78 @@
+package au.com.muel.envconfig;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.TypeToken;
+
+
+class ParserUtilsTest {
+
+    private final TypeConverter tc = new DefaultTypeConverter(DefaultParserRegistry.sharedDefaults());
+
+    @Test
+    void testSplit() {
+        assertEquals(Arrays.asList("a", "b", "c"), ParserUtils.split("a,b,c", ','));
+        assertEquals(Arrays.asList("a", "", "b", ""), ParserUtils.split("a,,b,", ','));
+        assertEquals(Collections.singletonList(""), ParserUtils.split("", ','));
+        assertEquals(Arrays.asList("a", "b"), ParserUtils.tokenise("a:b", ':').collect(toList()));
+    }
+
+    @Test
+    void testSplitSupplementaryCodePoint() {
+        final int smiley = 0x1F600;
+        final String value = "a" + new String(Character.toChars(smiley)) + "b";
+        assertEquals(Arrays.asList("a", "b"), ParserUtils.split(value, smiley));
+    }
+
+    @Test
+    void testSplitLongTokens() {
+        final String token = Strings.repeat("x", 100_000);
+        assertEquals(Arrays.asList(token, token), ParserUtils.split(token + "," + token, ','));
+    }
+
+    @Test
+    void testLargeSet() {
+
+        final StringBuilder value = new StringBuilder();
+        for (int i=0; i<20_000; i++) {
+            value.append(i == 0 ? "" : ",").append("host").append(i).append(".example.com");
+        }
+
+        @SuppressWarnings("unchecked")
+        final Set<String> hosts = (Set<String>) tc.convert(new TypeToken<Set<String>>() {}.getType(), value.toString());
+
+        assertEquals(20_000, hosts.size());
+        assertEquals(ImmutableSet.of("a", "b"), tc.convert(new TypeToken<Set<String>>() {}.getType(), "a,b,a"));
+    }
+
+    @Test
+    void testMap() {
+
+        final Map<?, ?> map = (Map<?, ?>) tc.convert(new TypeToken<Map<String, Integer>>() {}.getType(), "a:1,b:2");
+
+        assertEquals(ImmutableMap.of("a", 1, "b", 2), map);
+        assertThrows(IllegalArgumentException.class,
+                () -> tc.convert(new TypeToken<Map<String, Integer>>() {}.getType(), "a:1,b"));
+        assertThrows(IllegalStateException.class,
+                () -> tc.convert(new TypeToken<Map<String, Integer>>() {}.getType(), "a:1,a:2"));
+    }
+
+    @Test
+    void testList() {
+        assertEquals(Arrays.asList(1, 2, 2), tc.convert(new TypeToken<List<Integer>>() {}.getType(), "1,2,2"));
+    }
+
+}
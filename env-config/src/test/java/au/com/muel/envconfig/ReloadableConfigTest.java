@@ -0,0 +1,185 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+
+class ReloadableConfigTest {
+
+    @Test
+    void testReloadReparsesChangedValues() {
+
+        final Map<String, String> envVars = new ConcurrentHashMap<>(ImmutableMap.of(
+                "APP_HOST", "localhost", "APP_PORT", "80", "APP_TIMEOUTS", "PT1S,PT2S"));
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.reloadable("app", AppConfig.class, () -> envVars);
+        final List<List<String>> changes = new ArrayList<>();
+        reloadable.addListener((previous, current, changedMethods) -> changes.add(changedMethods));
+
+        final AppConfig before = reloadable.get();
+        assertEquals(80, before.port());
+
+        envVars.put("APP_PORT", "8080");
+        envVars.put("UNRELATED", "x");
+        assertEquals(ImmutableList.of("port"), reloadable.reload());
+
+        final AppConfig after = reloadable.get();
+        assertNotSame(before, after);
+        assertEquals(80, before.port());
+        assertEquals(8080, after.port());
+        assertSame(before.timeouts(), after.timeouts());
+        assertEquals(ImmutableList.of(ImmutableList.of("port")), changes);
+    }
+
+    @Test
+    void testReloadWithoutChanges() {
+
+        final Map<String, String> envVars = ImmutableMap.of("APP_HOST", "localhost", "APP_PORT", "80");
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.reloadable("app", AppConfig.class, () -> envVars);
+        reloadable.addListener((previous, current, changedMethods) -> {
+            throw new AssertionError("Unexpected change: " + changedMethods);
+        });
+
+        final AppConfig before = reloadable.get();
+        assertTrue(reloadable.reload().isEmpty());
+        assertSame(before, reloadable.get());
+    }
+
+    @Test
+    void testFailedReloadKeepsConfig() {
+
+        final Map<String, String> envVars = new ConcurrentHashMap<>(ImmutableMap.of("APP_HOST", "localhost", "APP_PORT", "80"));
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.generated().reloadable("app", AppConfig.class, () -> envVars);
+        final AppConfig before = reloadable.get();
+
+        envVars.put("APP_PORT", "eighty");
+        final IllegalStateException e = assertThrows(IllegalStateException.class, reloadable::reload);
+        assertTrue(e.getMessage().contains("port() - failed to parse \"eighty\""), e.getMessage());
+        assertSame(before, reloadable.get());
+
+        envVars.put("APP_PORT", "81");
+        reloadable.reload();
+        assertEquals(81, reloadable.get().port());
+    }
+
+    @Test
+    void testThrowingListener() {
+
+        final Map<String, String> envVars = new ConcurrentHashMap<>(ImmutableMap.of("APP_HOST", "localhost", "APP_PORT", "80"));
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.reloadable("app", AppConfig.class, () -> envVars);
+        final List<List<String>> changes = new ArrayList<>();
+        reloadable.addListener((previous, current, changedMethods) -> {
+            throw new IllegalStateException("listener failed");
+        });
+        reloadable.addListener((previous, current, changedMethods) -> changes.add(changedMethods));
+
+        envVars.put("APP_PORT", "8080");
+        final EnvConfigException e = assertThrows(EnvConfigException.class, reloadable::reload);
+        assertEquals(1, e.getSuppressed().length);
+        assertEquals("listener failed", e.getSuppressed()[0].getMessage());
+
+        // the other listeners are still notified, and the reload still takes effect
+        assertEquals(8080, reloadable.get().port());
+        assertEquals(ImmutableList.of(ImmutableList.of("port")), changes);
+    }
+
+    @Test
+    void testScheduledReloadContinuesAfterFailures() throws Exception {
+
+        final Map<String, String> envVars = new ConcurrentHashMap<>(ImmutableMap.of("APP_HOST", "localhost", "APP_PORT", "80"));
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.reloadable("app", AppConfig.class, () -> envVars);
+        final CountDownLatch failed = new CountDownLatch(1);
+        final CountDownLatch changed = new CountDownLatch(1);
+        reloadable.addListener(new ConfigChangeListener<AppConfig>() {
+
+            @Override
+            public void onChange(AppConfig previous, AppConfig current, List<String> changedMethods) {
+                changed.countDown();
+            }
+
+            @Override
+            public void onReloadFailure(RuntimeException e) {
+                failed.countDown();
+                throw e;
+            }
+        });
+
+        final BlockingQueue<Throwable> uncaught = new LinkedBlockingQueue<>();
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+            return thread;
+        });
+        try {
+
+            envVars.put("APP_PORT", "eighty");
+            reloadable.reloadEvery(scheduler, Duration.ofMillis(10));
+            assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+            // the listener's exception goes to the scheduler thread, rather than failing the reloads
+            final Throwable e = uncaught.poll(5, TimeUnit.SECONDS);
+            assertTrue(e instanceof IllegalStateException, String.valueOf(e));
+
+            envVars.put("APP_PORT", "81");
+            assertTrue(changed.await(5, TimeUnit.SECONDS));
+            assertEquals(81, reloadable.get().port());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testScheduledReload() throws Exception {
+
+        final Map<String, String> envVars = new ConcurrentHashMap<>(ImmutableMap.of("APP_HOST", "localhost", "APP_PORT", "80"));
+
+        final ReloadableConfig<AppConfig> reloadable = EnvConfig.reloadable("app", AppConfig.class, () -> envVars);
+        final CountDownLatch changed = new CountDownLatch(1);
+        reloadable.addListener((previous, current, changedMethods) -> changed.countDown());
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+
+            reloadable.reloadEvery(scheduler, Duration.ofMillis(10));
+            envVars.put("APP_HOST", "example.com");
+
+            assertTrue(changed.await(5, TimeUnit.SECONDS));
+            assertEquals("example.com", reloadable.get().host());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    interface AppConfig {
+        String host();
+        int port();
+
+        @EnvVar(defaultValue = "PT30S")
+        List<Duration> timeouts();
+    }
+
+}
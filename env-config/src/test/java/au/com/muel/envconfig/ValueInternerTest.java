@@ -0,0 +1,99 @@
+package au.com.muel.envconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+
+class ValueInternerTest {
+
+    @AfterEach
+    void removeCachedConfig() {
+        EnvConfig.clearAll();
+    }
+
+    @Test
+    void testInterning() {
+
+        final ValueInterner interner = new ValueInterner(2);
+
+        final Object pt1s = interner.intern(Duration.class, "PT1S", () -> Duration.parse("PT1S"));
+        assertSame(pt1s, interner.intern(Duration.class, "PT1S", () -> Duration.parse("PT1S")));
+        assertEquals("PT1S", interner.intern(String.class, "PT1S", () -> new String("PT1S")));
+
+        // the least recently used value is evicted
+        interner.intern(Duration.class, "PT2S", () -> Duration.parse("PT2S"));
+        assertEquals(2, interner.size());
+        assertNotSame(pt1s, interner.intern(Duration.class, "PT1S", () -> Duration.parse("PT1S")));
+
+        // mutable values are never held
+        final List<String> list = new ArrayList<>();
+        assertSame(list, interner.intern(ArrayList.class, "", () -> list));
+        assertEquals(2, interner.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new ValueInterner(0));
+    }
+
+    @Test
+    void testStriping() {
+
+        assertEquals(1, new ValueInterner(127).stripeCount());
+        assertEquals(2, new ValueInterner(128).stripeCount());
+        assertEquals(16, new ValueInterner(1024).stripeCount());
+        assertEquals(16, new ValueInterner(100_000).stripeCount());
+
+        // the stripes hold the maximum between them
+        final ValueInterner interner = new ValueInterner(1000);
+        for (int i=0; i<10_000; i++) {
+            final String value = Integer.toString(i);
+            interner.intern(String.class, value, () -> value);
+        }
+        assertTrue(interner.size() <= 1000, () -> "size " + interner.size());
+        assertTrue(interner.size() > 900, () -> "size " + interner.size());
+    }
+
+    @Test
+    void testInternersSharedByMaximum() {
+
+        final Map<String, String> envVars = Map.of("TIMEOUT", "PT1S");
+        final TimeoutConfig config = EnvConfig.interned(32).fromConfigSource(TimeoutConfig.class, envVars);
+
+        assertSame(config, EnvConfig.interned(32).fromConfigSource(TimeoutConfig.class, envVars));
+        assertNotSame(config, EnvConfig.interned(64).fromConfigSource(TimeoutConfig.class, envVars));
+    }
+
+    @Test
+    void testImmutableTypes() {
+
+        assertTrue(ValueInterner.isImmutable(int.class));
+        assertTrue(ValueInterner.isImmutable(TimeUnit.class));
+        assertTrue(ValueInterner.isImmutable(ZoneId.of("UTC").getClass()));
+        assertTrue(ValueInterner.isImmutable(ConfigResolver.parameterizedType(Map.class, String.class,
+                ConfigResolver.parameterizedType(List.class, Duration.class))));
+        assertTrue(ValueInterner.isImmutable(ConfigResolver.parameterizedType(Optional.class, String.class)));
+
+        assertFalse(ValueInterner.isImmutable(int[].class));
+        assertFalse(ValueInterner.isImmutable(Locale.class));
+        assertFalse(ValueInterner.isImmutable(ConfigResolver.parameterizedType(List.class, int[].class)));
+    }
+
+    interface TimeoutConfig {
+        Duration timeout();
+    }
+
+}